@@ -1,11 +1,8 @@
 package com.emmanuelarhu.base;
 
-import io.qameta.allure.restassured.AllureRestAssured;
-import io.restassured.RestAssured;
-import io.restassured.config.HttpClientConfig;
-import io.restassured.config.RestAssuredConfig;
+import com.emmanuelarhu.reporting.TestLog;
 import io.restassured.specification.RequestSpecification;
-import org.testng.annotations.BeforeClass;
+import org.slf4j.Logger;
 import org.testng.annotations.BeforeMethod;
 
 /**
@@ -14,7 +11,8 @@ import org.testng.annotations.BeforeMethod;
  */
 public class BaseTest {
 
-    protected static final String BASE_URL = "https://fakestoreapi.com";
+    // Resolved from -Dapi.target by SuiteContext
+    protected static final String BASE_URL = SuiteContext.get().baseUrl();
     protected static final String USERS_ENDPOINT = "/users";
     protected static final String PRODUCTS_ENDPOINT = "/products";
     protected static final String CARTS_ENDPOINT = "/carts";
@@ -24,61 +22,39 @@ public class BaseTest {
     protected static final int CONNECTION_TIMEOUT = 30000; // 30 seconds
     protected static final int SOCKET_TIMEOUT = 30000; // 30 seconds
 
-    @BeforeClass
-    public void setUp() {
-        // Configure RestAssured
-        RestAssured.baseURI = BASE_URL;
-        RestAssured.enableLoggingOfRequestAndResponseIfValidationFails();
+    /** Suite-wide configuration and specs, built once by {@link SuiteBootstrapListener} */
+    protected final SuiteContext context = SuiteContext.get();
 
-        // Configure timeouts and connection settings
-        RestAssured.config = RestAssuredConfig.config()
-                .httpClient(HttpClientConfig.httpClientConfig()
-                        .setParam("http.connection.timeout", CONNECTION_TIMEOUT)
-                        .setParam("http.socket.timeout", SOCKET_TIMEOUT));
-
-        System.out.println("🔧 BaseTest setup completed - Base URL: " + BASE_URL);
-    }
+    /** Structured logger; see {@link TestLog} for levels and when events reach the console */
+    protected final Logger log = TestLog.getLogger(getClass());
 
     @BeforeMethod
     public void beforeMethod() {
-        System.out.println("🚀 Starting test execution...");
+        log.debug("🚀 Starting test execution...");
     }
 
     /**
-     * Get a configured request specification with Allure reporting for POST/PUT requests
+     * Get the shared request specification with Allure reporting for POST/PUT requests
      * @return RequestSpecification with common configurations
      */
     protected RequestSpecification getRequestSpec() {
-        return RestAssured.given()
-                .filter(new AllureRestAssured())
-                .header("Content-Type", "application/json")
-                .header("Accept", "application/json")
-                .header("User-Agent", "FakeStore-API-Test-Suite/1.0")
-                .relaxedHTTPSValidation(); // Handle SSL issues if any
+        return context.specs().json();
     }
 
     /**
-     * Get a configured request specification for GET requests
+     * Get the shared request specification for GET requests
      * @return RequestSpecification for GET requests
      */
     protected RequestSpecification getRequestSpecForGet() {
-        return RestAssured.given()
-                .filter(new AllureRestAssured())
-                .header("Accept", "application/json")
-                .header("User-Agent", "FakeStore-API-Test-Suite/1.0")
-                .relaxedHTTPSValidation(); // Handle SSL issues if any
+        return context.specs().get();
     }
 
     /**
-     * Get a configured request specification for DELETE requests
+     * Get the shared request specification for DELETE requests
      * @return RequestSpecification for DELETE requests
      */
     protected RequestSpecification getRequestSpecForDelete() {
-        return RestAssured.given()
-                .filter(new AllureRestAssured())
-                .header("Accept", "application/json")
-                .header("User-Agent", "FakeStore-API-Test-Suite/1.0")
-                .relaxedHTTPSValidation(); // Handle SSL issues if any
+        return context.specs().delete();
     }
 
     /**
@@ -89,7 +65,7 @@ public class BaseTest {
      */
     protected String handleApiException(Exception e, String operation) {
         String errorMessage = String.format("API operation '%s' failed: %s", operation, e.getMessage());
-        System.err.println("❌ " + errorMessage);
+        log.error("❌ {}", errorMessage);
         return errorMessage;
     }
 
@@ -98,6 +74,6 @@ public class BaseTest {
      * @param stepDescription Description of the test step
      */
     protected void logTestStep(String stepDescription) {
-        System.out.println("📋 " + stepDescription);
+        log.info("📋 {}", stepDescription);
     }
 }
\ No newline at end of file
@@ -0,0 +1,59 @@
+package com.emmanuelarhu.base;
+
+import org.testng.ITestNGMethod;
+
+import java.util.Arrays;
+
+/**
+ * The test method running on the current thread, for filters that behave differently per test.
+ * Maintained by {@link CurrentTestListener}; works in parallel mode since each test runs on its own thread.
+ * Also tells filters when the tests are being driven as load, which the load runner sets for the whole run.
+ */
+public final class CurrentTest {
+
+    /** Group for tests whose assertions depend on real response times; they must always hit the network */
+    public static final String LATENCY_GROUP = "latency";
+
+    private static final ThreadLocal<ITestNGMethod> METHOD = new ThreadLocal<>();
+
+    private static volatile boolean loadRun;
+
+    private CurrentTest() {}
+
+    /**
+     * @return the running test method, or null outside a test (e.g. in configuration methods)
+     */
+    public static ITestNGMethod method() {
+        return METHOD.get();
+    }
+
+    /**
+     * @return true if the running test is in the {@value #LATENCY_GROUP} group
+     */
+    public static boolean measuresLatency() {
+        ITestNGMethod method = METHOD.get();
+        return method != null && Arrays.asList(method.getGroups()).contains(LATENCY_GROUP);
+    }
+
+    /**
+     * @return true while the tests are driven as load, when every request must reach the target as sent
+     */
+    public static boolean inLoadRun() {
+        return loadRun;
+    }
+
+    /**
+     * @param running True while the load runner drives the tests, false once it is done
+     */
+    public static void loadRun(boolean running) {
+        loadRun = running;
+    }
+
+    static void set(ITestNGMethod method) {
+        METHOD.set(method);
+    }
+
+    static void clear() {
+        METHOD.remove();
+    }
+}
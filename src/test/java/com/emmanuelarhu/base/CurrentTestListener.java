@@ -0,0 +1,25 @@
+package com.emmanuelarhu.base;
+
+import org.testng.IInvokedMethod;
+import org.testng.IInvokedMethodListener;
+import org.testng.ITestResult;
+
+/**
+ * Publishes the running test method through {@link CurrentTest}.
+ */
+public class CurrentTestListener implements IInvokedMethodListener {
+
+    @Override
+    public void beforeInvocation(IInvokedMethod method, ITestResult testResult) {
+        if (method.isTestMethod()) {
+            CurrentTest.set(method.getTestMethod());
+        }
+    }
+
+    @Override
+    public void afterInvocation(IInvokedMethod method, ITestResult testResult) {
+        if (method.isTestMethod()) {
+            CurrentTest.clear();
+        }
+    }
+}
@@ -0,0 +1,87 @@
+package com.emmanuelarhu.base;
+
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * How test methods and data-provider rows are scheduled, read from the {@code test.parallel}
+ * system property: {@code none} (default, sequential), {@code virtual} or {@code platform}.
+ * Virtual threads need Java 21+; on older runtimes {@code virtual} falls back to a fixed
+ * platform pool. {@code test.concurrency} caps how many tests run at once (default 16).
+ */
+public enum ExecutionMode {
+
+    SEQUENTIAL,
+    VIRTUAL,
+    PLATFORM;
+
+    private static final ExecutionMode CURRENT = resolve(System.getProperty("test.parallel", "none"));
+
+    /**
+     * @return the mode selected for this run
+     */
+    public static ExecutionMode current() {
+        return CURRENT;
+    }
+
+    /**
+     * @return maximum number of tests running at the same time
+     */
+    public static int concurrency() {
+        return Math.max(1, Integer.getInteger("test.concurrency", 16));
+    }
+
+    /**
+     * @return true if virtual threads are available on this runtime
+     */
+    public static boolean virtualThreadsSupported() {
+        return Runtime.version().feature() >= 21;
+    }
+
+    /**
+     * Thread factory for the test worker pool of this mode
+     * @return Factory creating virtual threads in VIRTUAL mode, daemon platform threads otherwise
+     */
+    public ThreadFactory threadFactory() {
+        if (this == VIRTUAL) {
+            return virtualThreadFactory();
+        }
+        AtomicInteger counter = new AtomicInteger();
+        return runnable -> {
+            Thread thread = new Thread(runnable, "test-worker-" + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+
+    private static ExecutionMode resolve(String value) {
+        switch (value.toLowerCase()) {
+            case "none":
+            case "false":
+                return SEQUENTIAL;
+            case "virtual":
+                if (!virtualThreadsSupported()) {
+                    System.out.println("⚠️ Virtual threads need Java 21+, running on Java "
+                            + Runtime.version().feature() + " with a fixed platform pool");
+                    return PLATFORM;
+                }
+                return VIRTUAL;
+            case "platform":
+                return PLATFORM;
+            default:
+                throw new IllegalArgumentException("Unknown test.parallel '" + value + "', expected none, virtual or platform");
+        }
+    }
+
+    // Compiled for Java 17, so Thread.ofVirtual() is looked up reflectively
+    private static ThreadFactory virtualThreadFactory() {
+        try {
+            Object builder = Thread.class.getMethod("ofVirtual").invoke(null);
+            Class<?> builderType = Class.forName("java.lang.Thread$Builder");
+            builder = builderType.getMethod("name", String.class, long.class).invoke(builder, "test-vthread-", 0L);
+            return (ThreadFactory) builderType.getMethod("factory").invoke(builder);
+        } catch (ReflectiveOperationException e) {
+            throw new IllegalStateException("Virtual threads are not available on this runtime", e);
+        }
+    }
+}
@@ -0,0 +1,39 @@
+package com.emmanuelarhu.base;
+
+import io.restassured.filter.OrderedFilter;
+
+/**
+ * Order of the framework's REST Assured filters. REST Assured runs lower values first,
+ * so the highest value sits closest to the network.
+ */
+public final class FilterOrder {
+
+    /** Load run recording, outermost so it times requests as the test sees them */
+    public static final int LOAD = OrderedFilter.HIGHEST_PRECEDENCE;
+
+    /** Allure request/response attachments, just outside the transport so they show what was sent */
+    public static final int REPORTING = OrderedFilter.LOWEST_PRECEDENCE - 10;
+
+    /** GET response cache; hits skip the cassette and transport but are still reported */
+    public static final int CACHE = OrderedFilter.LOWEST_PRECEDENCE - 8;
+
+    /** Conditional GET revalidation, inside the cache so only cache misses are revalidated */
+    public static final int CONDITIONAL = OrderedFilter.LOWEST_PRECEDENCE - 7;
+
+    /** Cassette record/replay, between reporting and the transport so replayed responses are still reported */
+    public static final int CASSETTE = OrderedFilter.LOWEST_PRECEDENCE - 5;
+
+    /** Circuit breaker, just outside the transport so cached and replayed responses never count against the target */
+    public static final int BREAKER = OrderedFilter.LOWEST_PRECEDENCE - 3;
+
+    /** Client-side rate limiter, inside the breaker so rejected requests take no token and never wait for one */
+    public static final int RATE_LIMIT = OrderedFilter.LOWEST_PRECEDENCE - 2;
+
+    /** Latency histograms, right around the transport so they time the exchange itself and nothing else */
+    public static final int LATENCY = OrderedFilter.LOWEST_PRECEDENCE - 1;
+
+    /** The transport performs the exchange and must be the innermost filter */
+    public static final int TRANSPORT = OrderedFilter.LOWEST_PRECEDENCE;
+
+    private FilterOrder() {}
+}
@@ -0,0 +1,313 @@
+package com.emmanuelarhu.base;
+
+import com.emmanuelarhu.base.RequestPhases.Phase;
+import io.restassured.config.HttpClientConfig;
+import org.apache.http.HttpClientConnection;
+import org.apache.http.HttpException;
+import org.apache.http.HttpHost;
+import org.apache.http.HttpRequest;
+import org.apache.http.HttpResponse;
+import org.apache.http.client.protocol.ClientContext;
+import org.apache.http.conn.ClientConnectionOperator;
+import org.apache.http.conn.ClientConnectionRequest;
+import org.apache.http.conn.ConnectTimeoutException;
+import org.apache.http.conn.HttpInetSocketAddress;
+import org.apache.http.conn.OperatedClientConnection;
+import org.apache.http.conn.routing.HttpRoute;
+import org.apache.http.conn.scheme.Scheme;
+import org.apache.http.conn.scheme.SchemeLayeredSocketFactory;
+import org.apache.http.conn.scheme.SchemeRegistry;
+import org.apache.http.conn.scheme.SchemeSocketFactory;
+import org.apache.http.impl.client.DefaultHttpClient;
+import org.apache.http.impl.conn.DefaultClientConnectionOperator;
+import org.apache.http.impl.conn.PoolingClientConnectionManager;
+import org.apache.http.impl.conn.SchemeRegistryFactory;
+import org.apache.http.params.HttpConnectionParams;
+import org.apache.http.params.HttpParams;
+import org.apache.http.pool.PoolStats;
+import org.apache.http.protocol.BasicHttpContext;
+import org.apache.http.protocol.HttpContext;
+import org.apache.http.protocol.HttpRequestExecutor;
+
+import javax.net.ssl.SSLSocket;
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.Socket;
+import java.net.SocketTimeoutException;
+import java.net.UnknownHostException;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Suite-wide pooled keep-alive connection manager shared by every request made through REST Assured.
+ * REST Assured still builds one lightweight client per request, but all of them lease sockets from
+ * this pool, so TCP and TLS handshakes are paid once per warm connection instead of once per request.
+ *
+ * Pool sizing and timeouts are read from system properties:
+ * http.pool.max.total, http.pool.max.per.route, http.pool.idle.timeout.seconds, http.pool.keep.alive.seconds
+ *
+ * The pool also times each request's {@link RequestPhases}: host name resolution and the TCP connect and
+ * TLS handshake of new connections in the connection operator, time to first byte in the request executor.
+ */
+@SuppressWarnings("deprecation") // REST Assured 5 still requires the HttpClient 4.2 style AbstractHttpClient API
+public final class HttpClientPool {
+
+    // Stateless, so one executor serves every client
+    private static final HttpRequestExecutor TIMED_EXECUTOR = new TimedRequestExecutor();
+
+    private static final HttpClientPool SHARED = new HttpClientPool(
+            Integer.getInteger("http.pool.max.total", 20),
+            Integer.getInteger("http.pool.max.per.route", 10),
+            Long.getLong("http.pool.idle.timeout.seconds", 30L),
+            Long.getLong("http.pool.keep.alive.seconds", 60L));
+
+    private final int maxTotal;
+    private final int maxPerRoute;
+    private final long idleTimeoutSeconds;
+    private final long keepAliveMillis;
+
+    private final AtomicLong leases = new AtomicLong();
+    private final AtomicLong connectionsOpened = new AtomicLong();
+    private final CountingConnectionManager connectionManager;
+    private final ScheduledExecutorService evictor;
+
+    private HttpClientPool(int maxTotal, int maxPerRoute, long idleTimeoutSeconds, long keepAliveSeconds) {
+        this.maxTotal = maxTotal;
+        this.maxPerRoute = maxPerRoute;
+        this.idleTimeoutSeconds = idleTimeoutSeconds;
+        this.keepAliveMillis = TimeUnit.SECONDS.toMillis(keepAliveSeconds);
+
+        this.connectionManager = new CountingConnectionManager(SchemeRegistryFactory.createDefault());
+        connectionManager.setMaxTotal(maxTotal);
+        connectionManager.setDefaultMaxPerRoute(maxPerRoute);
+
+        this.evictor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "http-pool-evictor");
+            thread.setDaemon(true);
+            return thread;
+        });
+        long period = Math.max(1L, idleTimeoutSeconds / 2);
+        evictor.scheduleWithFixedDelay(this::evictIdleConnections, period, period, TimeUnit.SECONDS);
+
+        RunReport.register("HTTP connection pool", this::metrics);
+    }
+
+    /**
+     * @return the pool shared by the whole suite
+     */
+    public static HttpClientPool shared() {
+        return SHARED;
+    }
+
+    /**
+     * Build the REST Assured client configuration that leases connections from this pool
+     * @param connectionTimeout Connect timeout in milliseconds
+     * @param socketTimeout Socket read timeout in milliseconds
+     * @return HttpClientConfig wired to the shared pool
+     */
+    public HttpClientConfig httpClientConfig(int connectionTimeout, int socketTimeout) {
+        return HttpClientConfig.httpClientConfig()
+                .httpClientFactory(this::newClient)
+                .setParam("http.connection.timeout", connectionTimeout)
+                .setParam("http.socket.timeout", socketTimeout);
+    }
+
+    private DefaultHttpClient newClient() {
+        DefaultHttpClient client = new DefaultHttpClient(connectionManager) {
+            @Override
+            protected HttpRequestExecutor createRequestExecutor() {
+                return TIMED_EXECUTOR;
+            }
+        };
+        client.setKeepAliveStrategy((response, context) -> keepAliveMillis);
+        return client;
+    }
+
+    private void evictIdleConnections() {
+        connectionManager.closeExpiredConnections();
+        connectionManager.closeIdleConnections(idleTimeoutSeconds, TimeUnit.SECONDS);
+    }
+
+    /**
+     * @return connections currently leased to requests and connections kept alive in the pool, in that order
+     */
+    public int[] connections() {
+        PoolStats stats = connectionManager.getTotalStats();
+        return new int[]{stats.getLeased(), stats.getAvailable()};
+    }
+
+    /**
+     * Snapshot of the pool state for the end-of-run report
+     * @return Ordered map of metric name to value
+     */
+    public Map<String, Object> metrics() {
+        PoolStats stats = connectionManager.getTotalStats();
+        long leased = leases.get();
+        long opened = connectionsOpened.get();
+        double reuseRatio = leased == 0 ? 0.0 : (double) (leased - opened) / leased;
+
+        Map<String, Object> metrics = new LinkedHashMap<>();
+        metrics.put("maxTotal", maxTotal);
+        metrics.put("maxPerRoute", maxPerRoute);
+        metrics.put("leased", stats.getLeased());
+        metrics.put("available", stats.getAvailable());
+        metrics.put("pending", stats.getPending());
+        metrics.put("connectionRequests", leased);
+        metrics.put("connectionsOpened", opened);
+        metrics.put("reuseRatio", String.format("%.2f", reuseRatio));
+        return metrics;
+    }
+
+    /**
+     * Connection manager that counts lease requests and physical connection opens,
+     * which together give the reuse ratio.
+     */
+    private final class CountingConnectionManager extends PoolingClientConnectionManager {
+
+        CountingConnectionManager(SchemeRegistry schemeRegistry) {
+            super(schemeRegistry);
+        }
+
+        @Override
+        public ClientConnectionRequest requestConnection(HttpRoute route, Object state) {
+            leases.incrementAndGet();
+            return super.requestConnection(route, state);
+        }
+
+        @Override
+        protected ClientConnectionOperator createConnectionOperator(SchemeRegistry schemeRegistry) {
+            return new DefaultClientConnectionOperator(schemeRegistry) {
+                @Override
+                public void openConnection(OperatedClientConnection conn, HttpHost target, InetAddress local,
+                                           HttpContext context, HttpParams params) throws IOException {
+                    connectionsOpened.incrementAndGet();
+                    super.openConnection(conn, target, local, timed(schemeRegistry, target, context), params);
+                }
+
+                @Override
+                protected InetAddress[] resolveHostname(String host) throws UnknownHostException {
+                    long start = System.nanoTime();
+                    try {
+                        return super.resolveHostname(host);
+                    } finally {
+                        record(Phase.DNS, start);
+                    }
+                }
+            };
+        }
+    }
+
+    /**
+     * Context whose scheme registry holds the target's scheme with a {@link TimedSocketFactory}. The operator reads
+     * the registry from the context first, and REST Assured registers its own HTTPS factory for
+     * {@code relaxedHTTPSValidation()} on every request, so the factory is wrapped per connection, not up front.
+     */
+    private static HttpContext timed(SchemeRegistry defaults, HttpHost target, HttpContext context) {
+        Object registered = context == null ? null : context.getAttribute(ClientContext.SCHEME_REGISTRY);
+        SchemeRegistry registry = registered instanceof SchemeRegistry ? (SchemeRegistry) registered : defaults;
+        Scheme scheme = registry.getScheme(target.getSchemeName());
+        SchemeRegistry timed = new SchemeRegistry();
+        timed.register(new Scheme(scheme.getName(), scheme.getDefaultPort(),
+                new TimedSocketFactory(scheme.getSchemeSocketFactory())));
+        HttpContext timedContext = new BasicHttpContext(context);
+        timedContext.setAttribute(ClientContext.SCHEME_REGISTRY, timed);
+        return timedContext;
+    }
+
+    private static void record(Phase phase, long start) {
+        RequestPhases phases = RequestPhases.current();
+        if (phases != null) {
+            phases.add(phase, System.nanoTime() - start);
+        }
+    }
+
+    /**
+     * Socket factory that times the TCP connect and, for TLS, the handshake separately. For a layered (TLS) factory
+     * it connects the plain socket itself, the way {@code SSLSocketFactory.connectSocket} does, and then lets the
+     * factory layer TLS over it, which includes host name verification.
+     */
+    private static final class TimedSocketFactory implements SchemeLayeredSocketFactory {
+
+        private final SchemeSocketFactory delegate;
+
+        TimedSocketFactory(SchemeSocketFactory delegate) {
+            this.delegate = delegate;
+        }
+
+        @Override
+        public Socket createSocket(HttpParams params) throws IOException {
+            return delegate.createSocket(params);
+        }
+
+        @Override
+        public Socket connectSocket(Socket socket, InetSocketAddress remoteAddress, InetSocketAddress localAddress,
+                                    HttpParams params) throws IOException {
+            if (!(delegate instanceof SchemeLayeredSocketFactory) || socket == null || socket instanceof SSLSocket) {
+                long start = System.nanoTime();
+                Socket connected = delegate.connectSocket(socket, remoteAddress, localAddress, params);
+                record(Phase.CONNECT, start);
+                return connected;
+            }
+            socket.setSoTimeout(HttpConnectionParams.getSoTimeout(params));
+            if (localAddress != null) {
+                socket.bind(localAddress);
+            }
+            long start = System.nanoTime();
+            try {
+                socket.connect(remoteAddress, HttpConnectionParams.getConnectionTimeout(params));
+            } catch (SocketTimeoutException e) {
+                throw new ConnectTimeoutException("Connect to " + remoteAddress + " timed out");
+            }
+            record(Phase.CONNECT, start);
+
+            String host = remoteAddress instanceof HttpInetSocketAddress
+                    ? ((HttpInetSocketAddress) remoteAddress).getHttpHost().getHostName()
+                    : remoteAddress.getHostName();
+            long handshake = System.nanoTime();
+            Socket secure = ((SchemeLayeredSocketFactory) delegate)
+                    .createLayeredSocket(socket, host, remoteAddress.getPort(), params);
+            record(Phase.TLS, handshake);
+            return secure;
+        }
+
+        @Override
+        public Socket createLayeredSocket(Socket socket, String target, int port, HttpParams params) throws IOException {
+            return ((SchemeLayeredSocketFactory) delegate).createLayeredSocket(socket, target, port, params);
+        }
+
+        @Override
+        public boolean isSecure(Socket socket) {
+            return delegate.isSecure(socket);
+        }
+    }
+
+    /** Marks when a request starts being written and when its response headers have been read */
+    private static final class TimedRequestExecutor extends HttpRequestExecutor {
+
+        @Override
+        protected HttpResponse doSendRequest(HttpRequest request, HttpClientConnection conn, HttpContext context)
+                throws IOException, HttpException {
+            RequestPhases phases = RequestPhases.current();
+            if (phases != null) {
+                phases.requestStarted();
+            }
+            return super.doSendRequest(request, conn, context);
+        }
+
+        @Override
+        protected HttpResponse doReceiveResponse(HttpRequest request, HttpClientConnection conn, HttpContext context)
+                throws HttpException, IOException {
+            HttpResponse response = super.doReceiveResponse(request, conn, context);
+            RequestPhases phases = RequestPhases.current();
+            if (phases != null) {
+                phases.headersReceived();
+            }
+            return response;
+        }
+    }
+}
@@ -0,0 +1,115 @@
+package com.emmanuelarhu.base;
+
+import io.restassured.builder.ResponseBuilder;
+import io.restassured.filter.time.TimingFilter;
+import io.restassured.http.Headers;
+import io.restassured.internal.RestAssuredResponseOptionsImpl;
+import io.restassured.internal.log.LogRepository;
+import io.restassured.response.Response;
+import io.restassured.specification.FilterableRequestSpecification;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+import java.util.regex.Pattern;
+
+/**
+ * Helpers for filters and transports that produce responses without REST Assured's own client.
+ */
+public final class HttpMessages {
+
+    // Request headers that select a different representation of the same URI
+    private static final String[] REPRESENTATION_HEADERS = {"Accept", "Accept-Language", "Authorization"};
+
+    // Path segments kept as they are; anything else (ids, malformed or malicious input) becomes {id}
+    private static final Pattern LITERAL_SEGMENT = Pattern.compile("[a-z][a-z-]*");
+
+    private HttpMessages() {}
+
+    /**
+     * Endpoint a request is reported under, so requests with inlined ids or test input share one entry
+     * @param method HTTP method
+     * @param path Path as written in the test: a template such as {@code /users/{id}}, a literal path or an absolute URL
+     * @return e.g. {@code GET /users/{id}}
+     */
+    public static String endpoint(String method, String path) {
+        if (path.startsWith("http://") || path.startsWith("https://")) {
+            int slash = path.indexOf('/', path.indexOf("//") + 2);
+            path = slash < 0 ? "/" : path.substring(slash);
+        }
+        int query = path.indexOf('?');
+        if (query >= 0) {
+            path = path.substring(0, query);
+        }
+        if (path.indexOf('{') >= 0) {
+            return method + " " + path;
+        }
+        StringBuilder template = new StringBuilder(method).append(' ');
+        int root = template.length();
+        for (String segment : path.split("/")) {
+            if (!segment.isEmpty()) {
+                template.append('/').append(LITERAL_SEGMENT.matcher(segment).matches() ? segment : "{id}");
+            }
+        }
+        return template.length() == root ? template.append('/').toString() : template.toString();
+    }
+
+    /**
+     * Key identifying the representation a GET asks for: the URI plus the request headers that change it
+     * @param requestSpec Fully built request
+     * @return Key starting with the URI followed by a newline
+     */
+    public static String representationKey(FilterableRequestSpecification requestSpec) {
+        StringBuilder key = new StringBuilder(requestSpec.getURI());
+        Headers headers = requestSpec.getHeaders();
+        for (String name : REPRESENTATION_HEADERS) {
+            key.append('\n').append(headers.hasHeaderWithName(name) ? headers.getValue(name) : "");
+        }
+        return key.toString();
+    }
+
+    /**
+     * Serialised request body as sent on the wire
+     * @param requestSpec Fully built request
+     * @return Body bytes, or null if the request has no body
+     */
+    public static byte[] requestBody(FilterableRequestSpecification requestSpec) {
+        Object body = requestSpec.getBody();
+        if (body == null) {
+            return null;
+        }
+        if (body instanceof byte[]) {
+            return (byte[]) body;
+        }
+        return body.toString().getBytes(StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Build a fully buffered REST Assured response
+     * @param statusCode HTTP status code
+     * @param statusLine Status line, e.g. HTTP/1.1 200
+     * @param headers Response headers
+     * @param body Response body
+     * @param elapsedMillis Response time reported by {@code Response.time()}
+     * @return Response usable with the normal REST Assured assertions
+     */
+    public static Response bufferedResponse(int statusCode, String statusLine, Headers headers, byte[] body,
+                                            long elapsedMillis) {
+        ResponseBuilder builder = new ResponseBuilder()
+                .setStatusCode(statusCode)
+                .setStatusLine(statusLine)
+                .setHeaders(headers)
+                .setBody(body);
+        if (headers.hasHeaderWithName("Content-Type")) {
+            builder.setContentType(headers.getValue("Content-Type"));
+        }
+        Response response = builder.build();
+
+        // REST Assured only records response time for requests it sends itself;
+        // without this, .time(...) assertions fail with "No time was recorded"
+        ((RestAssuredResponseOptionsImpl<?>) response).setFilterContextProperties(
+                Map.of(TimingFilter.RESPONSE_TIME_MILLISECONDS, elapsedMillis));
+        // Nor does it give built responses a log repository, which .then().log().ifValidationFails() writes to
+        ((RestAssuredResponseOptionsImpl<?>) response).setLogRepository(new LogRepository());
+        return response;
+    }
+}
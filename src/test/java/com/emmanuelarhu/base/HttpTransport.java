@@ -0,0 +1,40 @@
+package com.emmanuelarhu.base;
+
+import io.restassured.filter.FilterContext;
+import io.restassured.response.Response;
+import io.restassured.specification.FilterableRequestSpecification;
+import io.restassured.specification.FilterableResponseSpecification;
+
+import java.util.Collections;
+import java.util.Map;
+
+/**
+ * Transport SPI: performs the HTTP exchange for a fully built REST Assured request.
+ * Implementations are selected with the {@code http.transport} system property,
+ * see {@link Transports}.
+ */
+public interface HttpTransport {
+
+    /**
+     * @return Name shown in the run report
+     */
+    String name();
+
+    /**
+     * Send the request and return the complete response
+     * @param requestSpec Request after every outer filter has run
+     * @param responseSpec Response specification of the request
+     * @param ctx Filter context; only the REST Assured transport continues the chain
+     * @return Response with a fully buffered body
+     */
+    Response send(FilterableRequestSpecification requestSpec, FilterableResponseSpecification responseSpec,
+                  FilterContext ctx);
+
+    /**
+     * Transport specific metrics for the run report
+     * @return Ordered map of metric name to value
+     */
+    default Map<String, Object> metrics() {
+        return Collections.emptyMap();
+    }
+}
@@ -0,0 +1,163 @@
+package com.emmanuelarhu.base;
+
+import io.restassured.filter.FilterContext;
+import io.restassured.http.Header;
+import io.restassured.http.Headers;
+import io.restassured.response.Response;
+import io.restassured.specification.FilterableRequestSpecification;
+import io.restassured.specification.FilterableResponseSpecification;
+
+import javax.net.ssl.SSLContext;
+import javax.net.ssl.TrustManager;
+import javax.net.ssl.X509TrustManager;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.security.GeneralSecurityException;
+import java.security.cert.X509Certificate;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Transport backed by the JDK {@link HttpClient}. One client is shared by the whole suite;
+ * it negotiates HTTP/2 where the server supports it, so concurrent requests to the same host
+ * are multiplexed over a single connection. {@link #sendAsync} exposes non-blocking sends.
+ * Only time to first byte and transfer are seen for {@link RequestPhases}; the client reports no connection events.
+ */
+public class JdkHttpTransport implements HttpTransport {
+
+    // Headers the JDK client manages itself and refuses to accept from callers
+    private static final Set<String> RESTRICTED_HEADERS = Set.of("connection", "content-length", "expect", "host", "upgrade");
+
+    private final HttpClient client;
+    private final Duration requestTimeout;
+    private final Map<String, LongAdder> protocolCounts = new ConcurrentHashMap<>();
+
+    public JdkHttpTransport(int connectionTimeout, int socketTimeout) {
+        this.client = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_2)
+                .connectTimeout(Duration.ofMillis(connectionTimeout))
+                .followRedirects(HttpClient.Redirect.NORMAL)
+                .sslContext(relaxedSslContext()) // Mirrors relaxedHTTPSValidation() on the REST Assured specs
+                .build();
+        this.requestTimeout = Duration.ofMillis(socketTimeout);
+    }
+
+    @Override
+    public String name() {
+        return "jdk-http2";
+    }
+
+    @Override
+    public Response send(FilterableRequestSpecification requestSpec, FilterableResponseSpecification responseSpec,
+                         FilterContext ctx) {
+        try {
+            return sendAsync(requestSpec).join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            throw new IllegalStateException("Request failed: " + requestSpec.getMethod() + " " + requestSpec.getURI()
+                    + " (" + e.getCause() + ")", e.getCause());
+        }
+    }
+
+    /**
+     * Send the request without blocking the calling thread
+     * @param requestSpec Fully built REST Assured request
+     * @return Future completed with the buffered response
+     */
+    public CompletableFuture<Response> sendAsync(FilterableRequestSpecification requestSpec) {
+        // Captured here: the handler and completion run on the client's threads, not the caller's
+        RequestPhases phases = RequestPhases.current();
+        HttpResponse.BodyHandler<byte[]> handler = HttpResponse.BodyHandlers.ofByteArray();
+        if (phases != null) {
+            phases.connectionNotObserved();
+            phases.requestStarted();
+            handler = responseInfo -> {
+                phases.headersReceived();
+                return HttpResponse.BodySubscribers.ofByteArray();
+            };
+        }
+        long start = System.nanoTime();
+        return client.sendAsync(toHttpRequest(requestSpec), handler)
+                .thenApply(httpResponse -> {
+                    if (phases != null) {
+                        phases.bodyReceived();
+                    }
+                    return toResponse(httpResponse, System.nanoTime() - start);
+                });
+    }
+
+    @Override
+    public Map<String, Object> metrics() {
+        Map<String, Object> metrics = new LinkedHashMap<>();
+        protocolCounts.forEach((protocol, count) -> metrics.put("responses " + protocol, count.sum()));
+        return metrics;
+    }
+
+    private HttpRequest toHttpRequest(FilterableRequestSpecification requestSpec) {
+        HttpRequest.Builder builder = HttpRequest.newBuilder(URI.create(requestSpec.getURI()))
+                .timeout(requestTimeout)
+                .method(requestSpec.getMethod(), bodyPublisher(HttpMessages.requestBody(requestSpec)));
+
+        for (Header header : requestSpec.getHeaders()) {
+            if (!RESTRICTED_HEADERS.contains(header.getName().toLowerCase())
+                    && !"content-type".equalsIgnoreCase(header.getName())) {
+                builder.header(header.getName(), header.getValue());
+            }
+        }
+        if (requestSpec.getContentType() != null) {
+            builder.header("Content-Type", requestSpec.getContentType());
+        }
+        return builder.build();
+    }
+
+    private static HttpRequest.BodyPublisher bodyPublisher(byte[] body) {
+        return body == null ? HttpRequest.BodyPublishers.noBody() : HttpRequest.BodyPublishers.ofByteArray(body);
+    }
+
+    private Response toResponse(HttpResponse<byte[]> httpResponse, long elapsedNanos) {
+        String protocol = httpResponse.version() == HttpClient.Version.HTTP_2 ? "HTTP/2" : "HTTP/1.1";
+        protocolCounts.computeIfAbsent(protocol, key -> new LongAdder()).increment();
+
+        List<Header> headers = new ArrayList<>();
+        httpResponse.headers().map().forEach((name, values) ->
+                values.forEach(value -> headers.add(new Header(name, value))));
+
+        return HttpMessages.bufferedResponse(httpResponse.statusCode(), protocol + " " + httpResponse.statusCode(),
+                new Headers(headers), httpResponse.body(), TimeUnit.NANOSECONDS.toMillis(elapsedNanos));
+    }
+
+    private static SSLContext relaxedSslContext() {
+        TrustManager trustAll = new X509TrustManager() {
+            @Override
+            public void checkClientTrusted(X509Certificate[] chain, String authType) {}
+
+            @Override
+            public void checkServerTrusted(X509Certificate[] chain, String authType) {}
+
+            @Override
+            public X509Certificate[] getAcceptedIssuers() {
+                return new X509Certificate[0];
+            }
+        };
+        try {
+            SSLContext sslContext = SSLContext.getInstance("TLS");
+            sslContext.init(null, new TrustManager[]{trustAll}, null);
+            return sslContext;
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("Could not create relaxed SSL context", e);
+        }
+    }
+}
@@ -0,0 +1,63 @@
+package com.emmanuelarhu.base;
+
+import org.testng.IAlterSuiteListener;
+import org.testng.IAnnotationTransformer;
+import org.testng.IExecutionListener;
+import org.testng.TestNG;
+import org.testng.annotations.IDataProviderAnnotation;
+import org.testng.xml.XmlSuite;
+
+import java.lang.reflect.Method;
+import java.util.List;
+import java.util.concurrent.ThreadPoolExecutor;
+
+/**
+ * Turns on parallel execution when {@code test.parallel} is set (see {@link ExecutionMode}).
+ * Test methods and data-provider rows each run on TestNG pools capped at {@code test.concurrency},
+ * whose workers are virtual threads on Java 21+ or platform threads otherwise. The two pools are kept
+ * separate on purpose: a method blocks until its rows finish, so sharing one bounded pool deadlocks.
+ */
+public class ParallelExecutionListener implements IExecutionListener, IAlterSuiteListener, IAnnotationTransformer {
+
+    private final ExecutionMode mode = ExecutionMode.current();
+
+    @Override
+    public void onExecutionStart() {
+        if (mode == ExecutionMode.SEQUENTIAL) {
+            return;
+        }
+        installExecutorFactory();
+        System.out.println("⚡ Parallel execution: " + mode + " threads, concurrency " + ExecutionMode.concurrency());
+    }
+
+    // TestNG has no other hook for the running instance's pools under Surefire; -threadpoolfactoryclass is CLI-only
+    @SuppressWarnings("deprecation")
+    private void installExecutorFactory() {
+        // Same pools TestNG would build, only the worker threads differ
+        TestNG.getDefault().setExecutorServiceFactory((corePoolSize, maximumPoolSize, keepAliveTime, unit, workQueue,
+                                                      threadFactory) -> new ThreadPoolExecutor(corePoolSize,
+                maximumPoolSize, keepAliveTime, unit, workQueue, mode.threadFactory()));
+    }
+
+    @Override
+    public void alter(List<XmlSuite> suites) {
+        if (mode == ExecutionMode.SEQUENTIAL) {
+            return;
+        }
+        int concurrency = ExecutionMode.concurrency();
+        for (XmlSuite suite : suites) {
+            suite.setParallel(XmlSuite.ParallelMode.METHODS);
+            suite.setThreadCount(concurrency);
+            suite.setDataProviderThreadCount(concurrency);
+            suite.setPreserveOrder(false);
+            suite.getTests().forEach(test -> test.setPreserveOrder(false));
+        }
+    }
+
+    @Override
+    public void transform(IDataProviderAnnotation annotation, Method method) {
+        if (mode != ExecutionMode.SEQUENTIAL) {
+            annotation.setParallel(true);
+        }
+    }
+}
@@ -0,0 +1,39 @@
+package com.emmanuelarhu.base;
+
+import com.emmanuelarhu.reporting.RequestCapture;
+import io.restassured.filter.FilterContext;
+import io.restassured.filter.OrderedFilter;
+import io.restassured.response.Response;
+import io.restassured.specification.FilterableRequestSpecification;
+import io.restassured.specification.FilterableResponseSpecification;
+
+/**
+ * Allure request/response reporting placed just outside the transport filter, so exchanges
+ * are recorded whichever transport performs the request. When and how much is written to the
+ * report is decided by {@link RequestCapture}. Each request's {@link RequestPhases} are collected from here
+ * down, so the report can show where its time went.
+ */
+public class ReportingFilter implements OrderedFilter {
+
+    @Override
+    public Response filter(FilterableRequestSpecification requestSpec, FilterableResponseSpecification responseSpec,
+                           FilterContext ctx) {
+        RequestPhases phases = RequestPhases.begin();
+        Response response;
+        try {
+            response = ctx.next(requestSpec, responseSpec);
+        } catch (Exception e) { // Groovy internals can rethrow a checked IOException unwrapped
+            RequestCapture.record(requestSpec, null, e, phases);
+            throw e;
+        } finally {
+            phases.end();
+        }
+        RequestCapture.record(requestSpec, response, null, phases);
+        return response;
+    }
+
+    @Override
+    public int getOrder() {
+        return FilterOrder.REPORTING;
+    }
+}
@@ -0,0 +1,181 @@
+package com.emmanuelarhu.base;
+
+import java.math.BigDecimal;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Where the time of one request went: DNS lookup, TCP connect and TLS handshake (only when the request opened
+ * a new connection), time to first byte (request written to response headers read) and body transfer.
+ * Requests of an open-model load run also have a queue phase: how long after its scheduled time the request
+ * was actually sent, which is the delay a client on that schedule would have seen on top of the service time.
+ *
+ * {@link ReportingFilter} opens one per request on the calling thread; the transports' connection and
+ * executor hooks fill it in through {@link #current()}, so requests served from a cache or cassette have no
+ * phases at all. The JDK transport sees no connection events, so there the time to first byte includes
+ * any connection setup.
+ */
+public final class RequestPhases {
+
+    /** Phases of a request, in the order they happen */
+    public enum Phase {
+        QUEUE("queue"), DNS("dns"), CONNECT("connect"), TLS("tls"), TTFB("ttfb"), TRANSFER("transfer");
+
+        private final String label;
+
+        Phase(String label) {
+            this.label = label;
+        }
+
+        /**
+         * @return short lower-case name used in reports
+         */
+        public String label() {
+            return label;
+        }
+    }
+
+    private static final Phase[] PHASES = Phase.values();
+    private static final ThreadLocal<RequestPhases> CURRENT = new ThreadLocal<>();
+    private static final ThreadLocal<Long> SCHEDULED = new ThreadLocal<>();
+
+    private final long[] nanos = new long[PHASES.length];
+    private final RequestPhases previous;
+    private long requestStarted;
+    private long headersReceived;
+    private boolean connectionObserved = true;
+
+    private RequestPhases(RequestPhases previous) {
+        this.previous = previous;
+        Arrays.fill(nanos, -1L);
+    }
+
+    /**
+     * Start timing a request on this thread; pair with {@link #end()}
+     * @return the phases of the new request
+     */
+    public static RequestPhases begin() {
+        RequestPhases phases = new RequestPhases(CURRENT.get());
+        Long scheduled = SCHEDULED.get();
+        if (scheduled != null) {
+            SCHEDULED.remove();
+            phases.nanos[Phase.QUEUE.ordinal()] = Math.max(0L, System.nanoTime() - scheduled);
+        }
+        CURRENT.set(phases);
+        return phases;
+    }
+
+    /**
+     * Set when the next request on this thread was meant to be sent; the request that starts next takes it
+     * @param intendedNanos {@link System#nanoTime()} the request was scheduled for
+     */
+    public static void schedule(long intendedNanos) {
+        SCHEDULED.set(intendedNanos);
+    }
+
+    /** Forget a scheduled time no request took */
+    public static void unschedule() {
+        SCHEDULED.remove();
+    }
+
+    /**
+     * @param otherwise Value to return when no request is scheduled
+     * @return the time the next request on this thread was scheduled for, without taking it
+     */
+    public static long scheduled(long otherwise) {
+        Long scheduled = SCHEDULED.get();
+        return scheduled == null ? otherwise : scheduled;
+    }
+
+    /**
+     * @return phases of the request running on this thread, or null outside a request
+     */
+    public static RequestPhases current() {
+        return CURRENT.get();
+    }
+
+    /**
+     * Stop collecting on this thread; the phases recorded so far stay readable
+     */
+    public void end() {
+        if (CURRENT.get() == this) {
+            if (previous == null) {
+                CURRENT.remove();
+            } else {
+                CURRENT.set(previous);
+            }
+        }
+    }
+
+    /**
+     * Add time spent in a connection phase; retried addresses add up
+     * @param phase DNS, CONNECT or TLS
+     * @param elapsedNanos Time spent
+     */
+    public void add(Phase phase, long elapsedNanos) {
+        int index = phase.ordinal();
+        nanos[index] = Math.max(nanos[index], 0L) + elapsedNanos;
+    }
+
+    /** The request is about to be written; a redirect or retry starts over */
+    public void requestStarted() {
+        requestStarted = System.nanoTime();
+        headersReceived = 0L;
+    }
+
+    /** The response status line and headers have been read */
+    public void headersReceived() {
+        headersReceived = System.nanoTime();
+        if (requestStarted != 0L) {
+            nanos[Phase.TTFB.ordinal()] = headersReceived - requestStarted;
+        }
+    }
+
+    /** The response body has been read completely */
+    public void bodyReceived() {
+        if (headersReceived != 0L) {
+            nanos[Phase.TRANSFER.ordinal()] = System.nanoTime() - headersReceived;
+        }
+    }
+
+    /**
+     * @param phase Phase
+     * @return microseconds spent in the phase, or -1 if this request did not go through it
+     */
+    public long micros(Phase phase) {
+        long value = nanos[phase.ordinal()];
+        return value < 0 ? -1L : TimeUnit.NANOSECONDS.toMicros(value);
+    }
+
+    /** The transport does not report connection events, so whether a connection was opened is unknown */
+    public void connectionNotObserved() {
+        connectionObserved = false;
+    }
+
+    /**
+     * @return "new" when the request opened its own connection, "reused" when it took a pooled one,
+     * or null when the transport does not say
+     */
+    public String connection() {
+        if (!connectionObserved) {
+            return null;
+        }
+        return nanos[Phase.CONNECT.ordinal()] >= 0 ? "new" : "reused";
+    }
+
+    /**
+     * @return phase label to milliseconds for every phase the request went through, in phase order
+     */
+    public Map<String, BigDecimal> millis() {
+        Map<String, BigDecimal> millis = new LinkedHashMap<>();
+        for (Phase phase : PHASES) {
+            long micros = micros(phase);
+            if (micros >= 0) {
+                millis.put(phase.label(), BigDecimal.valueOf(micros, 3));
+            }
+        }
+        return millis;
+    }
+}
@@ -0,0 +1,32 @@
+package com.emmanuelarhu.base;
+
+import io.restassured.filter.FilterContext;
+import io.restassured.response.Response;
+import io.restassured.specification.FilterableRequestSpecification;
+import io.restassured.specification.FilterableResponseSpecification;
+
+/**
+ * Default transport: REST Assured's own Apache HttpClient 4 backend, leasing connections
+ * from {@link HttpClientPool}.
+ */
+public class RestAssuredTransport implements HttpTransport {
+
+    @Override
+    public String name() {
+        return "rest-assured";
+    }
+
+    @Override
+    public Response send(FilterableRequestSpecification requestSpec, FilterableResponseSpecification responseSpec,
+                         FilterContext ctx) {
+        Response response = ctx.next(requestSpec, responseSpec);
+        // REST Assured reads bodies lazily and a leased connection is only returned to the pool
+        // once its body is consumed, so buffer it right away
+        response.asByteArray();
+        RequestPhases phases = RequestPhases.current();
+        if (phases != null) {
+            phases.bodyReceived();
+        }
+        return response;
+    }
+}
@@ -0,0 +1,50 @@
+package com.emmanuelarhu.base;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.Supplier;
+
+/**
+ * Registry of metric sections printed at the end of the run.
+ * Framework components register a supplier once and the suite listener
+ * renders every section when the suite finishes.
+ */
+public final class RunReport {
+
+    private static final Map<String, Supplier<Map<String, Object>>> SECTIONS = new LinkedHashMap<>();
+
+    private RunReport() {}
+
+    /**
+     * Register a metric section, replacing any section with the same name
+     * @param name Section title shown in the run output
+     * @param metrics Supplier evaluated when the report is rendered
+     */
+    public static synchronized void register(String name, Supplier<Map<String, Object>> metrics) {
+        SECTIONS.put(name, metrics);
+    }
+
+    /**
+     * Evaluate every registered section
+     * @return Section title to metrics, in registration order
+     */
+    public static synchronized Map<String, Map<String, Object>> snapshot() {
+        Map<String, Map<String, Object>> snapshot = new LinkedHashMap<>();
+        SECTIONS.forEach((name, metrics) -> snapshot.put(name, metrics.get()));
+        return snapshot;
+    }
+
+    /**
+     * Render every registered section as plain text
+     * @return Human readable report
+     */
+    public static String render() {
+        StringBuilder report = new StringBuilder();
+        snapshot().forEach((name, metrics) -> {
+            report.append("📊 ").append(name).append(System.lineSeparator());
+            metrics.forEach((key, value) -> report.append("   ").append(key).append(": ").append(value)
+                    .append(System.lineSeparator()));
+        });
+        return report.toString();
+    }
+}
@@ -0,0 +1,17 @@
+package com.emmanuelarhu.base;
+
+import org.testng.ISuite;
+import org.testng.ISuiteListener;
+
+/**
+ * Suite listener that prints the run metrics collected in {@link RunReport}
+ * once the suite has finished.
+ */
+public class RunReportListener implements ISuiteListener {
+
+    @Override
+    public void onFinish(ISuite suite) {
+        System.out.println("=== Run Metrics: " + suite.getName() + " ===");
+        System.out.print(RunReport.render());
+    }
+}
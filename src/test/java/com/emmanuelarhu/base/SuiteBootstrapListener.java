@@ -0,0 +1,18 @@
+package com.emmanuelarhu.base;
+
+import org.testng.ISuite;
+import org.testng.ISuiteListener;
+
+/**
+ * Suite listener that makes sure the {@link SuiteContext} is built when the suite starts and reports
+ * what the one-time setup cost, instead of each test class running its own setup.
+ */
+public class SuiteBootstrapListener implements ISuiteListener {
+
+    @Override
+    public void onStart(ISuite suite) {
+        SuiteContext context = SuiteContext.get();
+        System.out.println("🔧 Suite setup completed in " + context.totalSetupMillis() + " ms - Base URL: "
+                + context.baseUrl());
+    }
+}
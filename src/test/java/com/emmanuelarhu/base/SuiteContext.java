@@ -0,0 +1,160 @@
+package com.emmanuelarhu.base;
+
+import com.emmanuelarhu.breaker.CircuitBreakerFilter;
+import com.emmanuelarhu.cache.ResponseCacheFilter;
+import com.emmanuelarhu.cassette.CassetteFilter;
+import com.emmanuelarhu.latency.LatencyFilter;
+import com.emmanuelarhu.reporting.RequestCapture;
+import com.emmanuelarhu.stub.FakeStoreStub;
+import com.emmanuelarhu.throttle.RateLimitFilter;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.restassured.RestAssured;
+import io.restassured.config.LogConfig;
+import io.restassured.config.ObjectMapperConfig;
+import io.restassured.config.RestAssuredConfig;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * Everything the suite sets up once: target URL, client configuration, connection pool, transport,
+ * JSON mapper and request specs. Built exactly once, on the first {@link #get()} from any thread
+ * (the suite bootstrap listener or the first test class loaded), and never modified afterwards,
+ * so test classes running in parallel can share it without locking.
+ *
+ * The REST Assured globals are written exactly once, here. The time spent on each step is kept in
+ * {@link #setupMillis()} and reported in the run metrics.
+ */
+public final class SuiteContext {
+
+    private static final String LIVE_BASE_URL = "https://fakestoreapi.com";
+
+    private final String baseUrl;
+    private final ObjectMapper objectMapper;
+    private final RestAssuredConfig config;
+    private final RequestSpecs specs;
+    private final Map<String, Long> setupMillis;
+
+    private SuiteContext(Map<String, Long> setupMillis) {
+        // -Dapi.target: live (default), stub for the in-process FakeStore stub, or an explicit base URL
+        this.baseUrl = timed(setupMillis, "target", () -> resolveBaseUrl(System.getProperty("api.target", "live")));
+        HttpClientPool pool = timed(setupMillis, "connectionPool", HttpClientPool::shared);
+        timed(setupMillis, "transport", Transports::selected);
+
+        // REST Assured's default factory builds and scans for modules on every (de)serialisation
+        this.objectMapper = timed(setupMillis, "objectMapper", () -> new ObjectMapper().findAndRegisterModules());
+        RestAssuredConfig config = RestAssuredConfig.config()
+                .httpClient(pool.httpClientConfig(BaseTest.CONNECTION_TIMEOUT, BaseTest.SOCKET_TIMEOUT))
+                .objectMapperConfig(ObjectMapperConfig.objectMapperConfig()
+                        .jackson2ObjectMapperFactory((type, charset) -> objectMapper));
+        // .log() output is held with the test's exchanges and only printed if the test fails
+        this.config = RequestCapture.buffered()
+                ? config.logConfig(LogConfig.logConfig().defaultStream(RequestCapture.console()))
+                : config;
+        this.specs = timed(setupMillis, "requestSpecs", () -> new RequestSpecs(baseUrl, this.config));
+        timed(setupMillis, "restAssuredGlobals", () -> {
+            configureRestAssured();
+            return null;
+        });
+        this.setupMillis = Collections.unmodifiableMap(setupMillis);
+        RunReport.register("Suite bootstrap", this::metrics);
+    }
+
+    /**
+     * @return the suite context, built on the first call from any thread
+     */
+    public static SuiteContext get() {
+        return Holder.INSTANCE;
+    }
+
+    /**
+     * @return base URL every request is sent to
+     */
+    public String baseUrl() {
+        return baseUrl;
+    }
+
+    /**
+     * @return client configuration shared by every spec: timeouts, the pooled keep-alive client and the JSON mapper
+     */
+    public RestAssuredConfig config() {
+        return config;
+    }
+
+    /**
+     * @return JSON mapper used for every request and response body; fully configured, never reconfigure it
+     */
+    public ObjectMapper objectMapper() {
+        return objectMapper;
+    }
+
+    /**
+     * @return the shared request specifications
+     */
+    public RequestSpecs specs() {
+        return specs;
+    }
+
+    /**
+     * @return milliseconds spent on each setup step, in the order they ran
+     */
+    public Map<String, Long> setupMillis() {
+        return setupMillis;
+    }
+
+    /**
+     * @return total milliseconds spent building the context
+     */
+    public long totalSetupMillis() {
+        return setupMillis.values().stream().mapToLong(Long::longValue).sum();
+    }
+
+    private void configureRestAssured() {
+        RestAssured.baseURI = baseUrl;
+        RestAssured.enableLoggingOfRequestAndResponseIfValidationFails();
+
+        // Timeouts, the suite-wide keep-alive pool, the selected transport, latency histograms, any rate limit,
+        // the circuit breaker and any cassette or cache
+        RestAssured.config = config;
+        RestAssured.filters(Transports.filter());
+        LatencyFilter.configured().ifPresent(latency -> RestAssured.filters(latency));
+        RateLimitFilter.configured().ifPresent(limiter -> RestAssured.filters(limiter));
+        CircuitBreakerFilter.configured().ifPresent(breaker -> RestAssured.filters(breaker));
+        CassetteFilter.configured().ifPresent(cassette -> RestAssured.filters(cassette));
+        ResponseCacheFilter.configured().ifPresent(cache -> RestAssured.filters(cache));
+    }
+
+    private static String resolveBaseUrl(String target) {
+        switch (target) {
+            case "live":
+                return LIVE_BASE_URL;
+            case "stub":
+                return FakeStoreStub.shared().baseUrl();
+            default:
+                return target;
+        }
+    }
+
+    private static <T> T timed(Map<String, Long> setupMillis, String step, Supplier<T> action) {
+        long start = System.nanoTime();
+        T result = action.get();
+        setupMillis.put(step, TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+        return result;
+    }
+
+    private Map<String, Object> metrics() {
+        Map<String, Object> metrics = new LinkedHashMap<>();
+        metrics.put("baseUrl", baseUrl);
+        setupMillis.forEach((step, millis) -> metrics.put(step + "Millis", millis));
+        metrics.put("totalMillis", totalSetupMillis());
+        return metrics;
+    }
+
+    // Initialised by the JVM on first access, which also makes the one-time setup thread-safe
+    private static final class Holder {
+        static final SuiteContext INSTANCE = new SuiteContext(new LinkedHashMap<>());
+    }
+}
@@ -0,0 +1,110 @@
+package com.emmanuelarhu.base;
+
+import io.restassured.filter.FilterContext;
+import io.restassured.filter.OrderedFilter;
+import io.restassured.response.Response;
+import io.restassured.specification.FilterableRequestSpecification;
+import io.restassured.specification.FilterableResponseSpecification;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Selects the suite's {@link HttpTransport} from the {@code http.transport} system property
+ * ({@code rest-assured} by default, or {@code jdk}) and routes every request through it.
+ */
+public final class Transports {
+
+    private static final HttpTransport SELECTED = create(System.getProperty("http.transport", "rest-assured"));
+    private static final TransportFilter FILTER = new TransportFilter(SELECTED);
+
+    static {
+        RunReport.register("HTTP transport", FILTER::metrics);
+    }
+
+    private Transports() {}
+
+    /**
+     * @return the transport chosen for this run
+     */
+    public static HttpTransport selected() {
+        return SELECTED;
+    }
+
+    /**
+     * @return innermost filter that hands each request to the selected transport
+     */
+    public static OrderedFilter filter() {
+        return FILTER;
+    }
+
+    private static HttpTransport create(String name) {
+        switch (name.toLowerCase()) {
+            case "rest-assured":
+            case "restassured":
+                return new RestAssuredTransport();
+            case "jdk":
+            case "jdk-http2":
+                return new JdkHttpTransport(BaseTest.CONNECTION_TIMEOUT, BaseTest.SOCKET_TIMEOUT);
+            default:
+                throw new IllegalArgumentException("Unknown http.transport '" + name + "', expected rest-assured or jdk");
+        }
+    }
+
+    /**
+     * Filter that performs the exchange with the selected transport and records
+     * request count, latency and throughput for comparing transports.
+     */
+    private static final class TransportFilter implements OrderedFilter {
+
+        private final HttpTransport transport;
+        private final LongAdder requests = new LongAdder();
+        private final LongAdder failures = new LongAdder();
+        private final LongAdder totalNanos = new LongAdder();
+        private final AtomicLong firstStart = new AtomicLong();
+        private final AtomicLong lastEnd = new AtomicLong();
+
+        TransportFilter(HttpTransport transport) {
+            this.transport = transport;
+        }
+
+        @Override
+        public Response filter(FilterableRequestSpecification requestSpec,
+                               FilterableResponseSpecification responseSpec, FilterContext ctx) {
+            long start = System.nanoTime();
+            firstStart.compareAndSet(0L, start);
+            try {
+                return transport.send(requestSpec, responseSpec, ctx);
+            } catch (RuntimeException e) {
+                failures.increment();
+                throw e;
+            } finally {
+                long end = System.nanoTime();
+                requests.increment();
+                totalNanos.add(end - start);
+                lastEnd.accumulateAndGet(end, Math::max);
+            }
+        }
+
+        @Override
+        public int getOrder() {
+            return FilterOrder.TRANSPORT;
+        }
+
+        Map<String, Object> metrics() {
+            long count = requests.sum();
+            double wallSeconds = (lastEnd.get() - firstStart.get()) / 1_000_000_000.0;
+
+            Map<String, Object> metrics = new LinkedHashMap<>();
+            metrics.put("transport", transport.name());
+            metrics.put("requests", count);
+            metrics.put("failures", failures.sum());
+            metrics.put("meanLatencyMs", String.format("%.1f", count == 0 ? 0.0 : totalNanos.sum() / 1_000_000.0 / count));
+            metrics.put("throughputPerSecond", String.format("%.1f", wallSeconds <= 0 ? 0.0 : count / wallSeconds));
+            metrics.putAll(transport.metrics());
+            return metrics;
+        }
+    }
+}
@@ -0,0 +1,208 @@
+package com.emmanuelarhu.breaker;
+
+import com.emmanuelarhu.base.FilterOrder;
+import com.emmanuelarhu.base.RunReport;
+import com.emmanuelarhu.reporting.TestLog;
+import io.restassured.filter.FilterContext;
+import io.restassured.filter.OrderedFilter;
+import io.restassured.response.Response;
+import io.restassured.specification.FilterableRequestSpecification;
+import io.restassured.specification.FilterableResponseSpecification;
+import org.slf4j.Logger;
+
+import java.io.IOException;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Circuit breaker in front of the transport, so an unreachable API costs one timeout instead of one per test.
+ * Network errors (connect/read timeouts, refused connections, unknown hosts) and gateway statuses
+ * (502, 503, 504) count as failures. After {@code http.breaker.failure.threshold} consecutive failures,
+ * or as soon as a connectivity test fails on one (see {@link CircuitBreakerListener}), the circuit opens:
+ * requests are rejected immediately and tests are skipped with the reason.
+ *
+ * After {@code http.breaker.open.seconds} the circuit goes half-open and lets a single probe request
+ * through; success closes it, failure opens it for another period. On by default; disable with
+ * {@code -Dhttp.breaker=false}.
+ */
+public final class CircuitBreakerFilter implements OrderedFilter {
+
+    private enum State { CLOSED, OPEN, HALF_OPEN }
+
+    private static final Logger log = TestLog.getRunLogger(CircuitBreakerFilter.class);
+
+    private static final CircuitBreakerFilter CONFIGURED = "false".equalsIgnoreCase(System.getProperty("http.breaker"))
+            ? null
+            : new CircuitBreakerFilter(Integer.getInteger("http.breaker.failure.threshold", 3),
+                    TimeUnit.SECONDS.toNanos(Long.getLong("http.breaker.open.seconds", 15L)));
+
+    private final int failureThreshold;
+    private final long openNanos;
+
+    // Written under the lock; read without it on the closed fast path
+    private volatile State state = State.CLOSED;
+    private int consecutiveFailures;
+    private String lastFailure;
+    private long openUntilNanos;
+
+    private final LongAdder failures = new LongAdder();
+    private final LongAdder rejected = new LongAdder();
+    private final LongAdder skippedTests = new LongAdder();
+    private final LongAdder trips = new LongAdder();
+    private final LongAdder probes = new LongAdder();
+
+    private CircuitBreakerFilter(int failureThreshold, long openNanos) {
+        this.failureThreshold = failureThreshold;
+        this.openNanos = openNanos;
+        RunReport.register("Circuit breaker", this::metrics);
+    }
+
+    /**
+     * @return the breaker unless {@code http.breaker=false}
+     */
+    public static Optional<CircuitBreakerFilter> configured() {
+        return Optional.ofNullable(CONFIGURED);
+    }
+
+    @Override
+    public Response filter(FilterableRequestSpecification requestSpec, FilterableResponseSpecification responseSpec,
+                           FilterContext ctx) {
+        if (!tryAcquire()) {
+            rejected.increment();
+            throw new IllegalStateException(rejectionReason().orElse("Circuit breaker open") + " - "
+                    + requestSpec.getMethod() + " " + requestSpec.getURI() + " not sent");
+        }
+        Response response;
+        try {
+            response = ctx.next(requestSpec, responseSpec);
+        } catch (Exception e) { // Groovy internals can rethrow a checked IOException unwrapped
+            Throwable cause = networkCause(e);
+            if (cause != null) {
+                onFailure(cause.getClass().getSimpleName() + ": " + cause.getMessage());
+            } else {
+                release();
+            }
+            throw e;
+        }
+        int status = response.getStatusCode();
+        if (status == 502 || status == 503 || status == 504) {
+            onFailure("HTTP " + status + " from " + requestSpec.getURI());
+        } else {
+            onSuccess();
+        }
+        return response;
+    }
+
+    @Override
+    public int getOrder() {
+        return FilterOrder.BREAKER;
+    }
+
+    /**
+     * Why requests are currently being rejected
+     * @return the reason while the circuit is open or a probe is in flight, empty when requests may be sent
+     */
+    public synchronized Optional<String> rejectionReason() {
+        long now = System.nanoTime();
+        if (state == State.CLOSED || (state == State.OPEN && now - openUntilNanos >= 0)) {
+            return Optional.empty();
+        }
+        String retry = state == State.HALF_OPEN ? "probe in flight"
+                : "next probe in " + TimeUnit.NANOSECONDS.toSeconds(openUntilNanos - now + 999_999_999L) + "s";
+        return Optional.of("API unreachable, circuit breaker open (" + lastFailure + "; " + retry + ")");
+    }
+
+    /**
+     * Open the circuit if the request path has seen a failure that no success has cleared since.
+     * Connectivity tests call this when they fail, so the rest of the suite does not wait for the threshold.
+     * @param source What reported the failure, shown in the log
+     */
+    public synchronized void tripIfFailing(String source) {
+        if (consecutiveFailures > 0 && state == State.CLOSED) {
+            open(source + " failed");
+        }
+    }
+
+    void recordSkippedTest() {
+        skippedTests.increment();
+    }
+
+    private boolean tryAcquire() {
+        if (state == State.CLOSED) {
+            return true;
+        }
+        synchronized (this) {
+            if (state == State.CLOSED) {
+                return true;
+            }
+            if (state == State.OPEN && System.nanoTime() - openUntilNanos >= 0) {
+                state = State.HALF_OPEN;
+                probes.increment();
+                log.info("🟡 Circuit breaker half-open, probing the API");
+                return true;
+            }
+            return false;
+        }
+    }
+
+    private synchronized void onSuccess() {
+        consecutiveFailures = 0;
+        if (state != State.CLOSED) {
+            state = State.CLOSED;
+            log.info("🟢 Circuit breaker closed, API reachable again");
+        }
+    }
+
+    private synchronized void onFailure(String reason) {
+        failures.increment();
+        consecutiveFailures++;
+        lastFailure = reason;
+        if (state == State.HALF_OPEN || (state == State.CLOSED && consecutiveFailures >= failureThreshold)) {
+            open(consecutiveFailures + " consecutive failures");
+        }
+    }
+
+    // The probe failed for a reason unrelated to reachability; let the next request probe instead
+    private synchronized void release() {
+        if (state == State.HALF_OPEN) {
+            state = State.OPEN;
+            openUntilNanos = System.nanoTime();
+        }
+    }
+
+    private void open(String why) {
+        state = State.OPEN;
+        openUntilNanos = System.nanoTime() + openNanos;
+        trips.increment();
+        log.warn("🔴 Circuit breaker open after {} ({}), failing fast for {}s", why, lastFailure,
+                TimeUnit.NANOSECONDS.toSeconds(openNanos));
+    }
+
+    private static Throwable networkCause(Throwable error) {
+        for (Throwable cause = error; cause != null; cause = cause.getCause()) {
+            if (cause instanceof IOException) {
+                return cause;
+            }
+        }
+        return null;
+    }
+
+    private synchronized Map<String, Object> metrics() {
+        Map<String, Object> metrics = new LinkedHashMap<>();
+        metrics.put("state", state);
+        metrics.put("failureThreshold", failureThreshold);
+        metrics.put("openSeconds", TimeUnit.NANOSECONDS.toSeconds(openNanos));
+        metrics.put("failures", failures.sum());
+        metrics.put("trips", trips.sum());
+        metrics.put("halfOpenProbes", probes.sum());
+        metrics.put("rejectedRequests", rejected.sum());
+        metrics.put("skippedTests", skippedTests.sum());
+        if (lastFailure != null) {
+            metrics.put("lastFailure", lastFailure);
+        }
+        return metrics;
+    }
+}
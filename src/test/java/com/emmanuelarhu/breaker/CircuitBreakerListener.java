@@ -0,0 +1,44 @@
+package com.emmanuelarhu.breaker;
+
+import org.testng.IInvokedMethod;
+import org.testng.IInvokedMethodListener;
+import org.testng.ITestNGMethod;
+import org.testng.ITestResult;
+import org.testng.SkipException;
+
+import java.util.Arrays;
+
+/**
+ * Connects the {@link CircuitBreakerFilter} to the test lifecycle: a failing connectivity test opens the
+ * circuit straight away, and while it is open every other test is skipped before it runs, with the reason.
+ * Connectivity tests always run so they can report the outage themselves.
+ */
+public class CircuitBreakerListener implements IInvokedMethodListener {
+
+    /** Group of the environment checks that run first and decide whether the API is reachable */
+    public static final String CONNECTIVITY_GROUP = "connectivity";
+
+    @Override
+    public void beforeInvocation(IInvokedMethod method, ITestResult testResult) {
+        if (!method.isTestMethod() || isConnectivityTest(method.getTestMethod())) {
+            return;
+        }
+        CircuitBreakerFilter.configured().ifPresent(breaker -> breaker.rejectionReason().ifPresent(reason -> {
+            breaker.recordSkippedTest();
+            throw new SkipException(reason);
+        }));
+    }
+
+    @Override
+    public void afterInvocation(IInvokedMethod method, ITestResult testResult) {
+        if (method.isTestMethod() && testResult.getStatus() == ITestResult.FAILURE
+                && isConnectivityTest(method.getTestMethod())) {
+            CircuitBreakerFilter.configured().ifPresent(breaker ->
+                    breaker.tripIfFailing(method.getTestMethod().getQualifiedName()));
+        }
+    }
+
+    private static boolean isConnectivityTest(ITestNGMethod method) {
+        return Arrays.asList(method.getGroups()).contains(CONNECTIVITY_GROUP);
+    }
+}
@@ -0,0 +1,162 @@
+package com.emmanuelarhu.cache;
+
+import com.emmanuelarhu.base.CurrentTest;
+import com.emmanuelarhu.base.FilterOrder;
+import com.emmanuelarhu.base.HttpMessages;
+import com.emmanuelarhu.base.RunReport;
+import io.restassured.filter.FilterContext;
+import io.restassured.filter.OrderedFilter;
+import io.restassured.http.Headers;
+import io.restassured.response.Response;
+import io.restassured.specification.FilterableRequestSpecification;
+import io.restassured.specification.FilterableResponseSpecification;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Revalidates repeated GETs instead of refetching them. The validators ({@code ETag}, {@code Last-Modified})
+ * and body of each 200 response are remembered per representation; the next GET for it carries
+ * {@code If-None-Match} / {@code If-Modified-Since}, and a {@code 304 Not Modified} is turned back into
+ * the remembered 200 so tests see no difference, while the body is neither transferred nor re-read.
+ *
+ * Part of the shared request specs; disable with {@code -Dhttp.conditional=false}. At most
+ * {@code http.conditional.max.entries} representations are remembered, least recently used evicted first.
+ * Tests in the {@value CurrentTest#LATENCY_GROUP} group never send conditional headers, so they always
+ * time a full fetch, and requests sent while {@link CurrentTest#inLoadRun()} bypass the filter altogether so a
+ * load run sends the tests' own requests.
+ * Bytes saved are reported per endpoint.
+ */
+public final class ConditionalGetFilter implements OrderedFilter {
+
+    private static final ConditionalGetFilter CONFIGURED = "false".equalsIgnoreCase(
+            System.getProperty("http.conditional")) ? null
+            : new ConditionalGetFilter(Integer.getInteger("http.conditional.max.entries", 512));
+
+    private final int maxEntries;
+    private final LinkedHashMap<String, Validated> validated;
+    private final Map<String, EndpointStats> endpoints = new ConcurrentHashMap<>();
+
+    private ConditionalGetFilter(int maxEntries) {
+        this.maxEntries = maxEntries;
+        // Access-ordered, so the eldest entry is always the least recently used
+        this.validated = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Validated> eldest) {
+                return size() > ConditionalGetFilter.this.maxEntries;
+            }
+        };
+        RunReport.register("Conditional GET", this::metrics);
+    }
+
+    /**
+     * @return the filter shared by every request specification, unless {@code -Dhttp.conditional=false}
+     */
+    public static Optional<ConditionalGetFilter> configured() {
+        return Optional.ofNullable(CONFIGURED);
+    }
+
+    @Override
+    public Response filter(FilterableRequestSpecification requestSpec, FilterableResponseSpecification responseSpec,
+                           FilterContext ctx) {
+        if (!"GET".equals(requestSpec.getMethod()) || CurrentTest.inLoadRun()) {
+            return ctx.next(requestSpec, responseSpec);
+        }
+        String key = HttpMessages.representationKey(requestSpec);
+        EndpointStats stats = endpoints.computeIfAbsent(HttpMessages.endpoint("GET", requestSpec.getUserDefinedPath()),
+                endpoint -> new EndpointStats());
+        stats.requests.increment();
+
+        Validated previous = CurrentTest.measuresLatency() ? null : lookup(key);
+        if (previous != null) {
+            if (previous.etag != null) {
+                requestSpec.header("If-None-Match", previous.etag);
+            }
+            if (previous.lastModified != null) {
+                requestSpec.header("If-Modified-Since", previous.lastModified);
+            }
+            stats.conditional.increment();
+        }
+
+        long start = System.nanoTime();
+        Response response = ctx.next(requestSpec, responseSpec);
+        if (previous != null && response.getStatusCode() == 304) {
+            stats.notModified.increment();
+            stats.bytesSaved.add(previous.body.length);
+            return HttpMessages.bufferedResponse(previous.statusCode, previous.statusLine, previous.headers,
+                    previous.body, TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+        }
+        remember(key, response);
+        return response;
+    }
+
+    @Override
+    public int getOrder() {
+        return FilterOrder.CONDITIONAL;
+    }
+
+    private synchronized Validated lookup(String key) {
+        return validated.get(key);
+    }
+
+    private void remember(String key, Response response) {
+        String etag = response.getHeader("ETag");
+        String lastModified = response.getHeader("Last-Modified");
+        if (response.getStatusCode() != 200 || (etag == null && lastModified == null)) {
+            return;
+        }
+        Validated entry = new Validated(etag, lastModified, response.getStatusCode(), response.getStatusLine(),
+                response.getHeaders(), response.asByteArray());
+        synchronized (this) {
+            validated.put(key, entry);
+        }
+    }
+
+    private Map<String, Object> metrics() {
+        long requests = 0;
+        long notModified = 0;
+        long bytesSaved = 0;
+        Map<String, Object> metrics = new LinkedHashMap<>();
+        for (Map.Entry<String, EndpointStats> endpoint : new TreeMap<>(endpoints).entrySet()) {
+            EndpointStats stats = endpoint.getValue();
+            requests += stats.requests.sum();
+            notModified += stats.notModified.sum();
+            bytesSaved += stats.bytesSaved.sum();
+            metrics.put(endpoint.getKey(), String.format("requests=%d conditional=%d notModified=%d bytesSaved=%d",
+                    stats.requests.sum(), stats.conditional.sum(), stats.notModified.sum(), stats.bytesSaved.sum()));
+        }
+        metrics.put("total", String.format("requests=%d notModified=%d bytesSaved=%d", requests, notModified, bytesSaved));
+        return metrics;
+    }
+
+    /** Validators and body of the last 200 response for one representation */
+    private static final class Validated {
+        final String etag;
+        final String lastModified;
+        final int statusCode;
+        final String statusLine;
+        final Headers headers;
+        final byte[] body;
+
+        Validated(String etag, String lastModified, int statusCode, String statusLine, Headers headers, byte[] body) {
+            this.etag = etag;
+            this.lastModified = lastModified;
+            this.statusCode = statusCode;
+            this.statusLine = statusLine;
+            this.headers = headers;
+            this.body = body;
+        }
+    }
+
+    private static final class EndpointStats {
+        final LongAdder requests = new LongAdder();
+        final LongAdder conditional = new LongAdder();
+        final LongAdder notModified = new LongAdder();
+        final LongAdder bytesSaved = new LongAdder();
+    }
+}
@@ -0,0 +1,204 @@
+package com.emmanuelarhu.cache;
+
+import com.emmanuelarhu.base.CurrentTest;
+import com.emmanuelarhu.base.FilterOrder;
+import com.emmanuelarhu.base.HttpMessages;
+import com.emmanuelarhu.base.RunReport;
+import io.restassured.filter.FilterContext;
+import io.restassured.filter.OrderedFilter;
+import io.restassured.http.Headers;
+import io.restassured.response.Response;
+import io.restassured.specification.FilterableRequestSpecification;
+import io.restassured.specification.FilterableResponseSpecification;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Opt-in cache for idempotent GETs shared by every test class, enabled with {@code -Dhttp.cache=true}.
+ * Entries are keyed by URI plus the request headers that change the representation, evicted
+ * least-recently-used beyond {@code http.cache.max.entries} and expire after {@code http.cache.ttl.seconds}
+ * (or sooner if the response's {@code Cache-Control: max-age} says so).
+ *
+ * Only 200 responses are stored, and never ones marked {@code no-store}. Any other method on a URI
+ * invalidates it and its parent collection. Tests in the {@value CurrentTest#LATENCY_GROUP} group
+ * are never served from the cache so their timings stay real, though their responses still refresh it.
+ * Requests sent while {@link CurrentTest#inLoadRun()} bypass the cache altogether, so every request of a load
+ * run reaches the target; they are counted apart from the latency tests'.
+ */
+public final class ResponseCacheFilter implements OrderedFilter {
+
+    private static final Pattern MAX_AGE = Pattern.compile("max-age=(\\d+)");
+
+    private static final ResponseCacheFilter CONFIGURED = Boolean.getBoolean("http.cache")
+            ? new ResponseCacheFilter(Integer.getInteger("http.cache.max.entries", 256),
+                    TimeUnit.SECONDS.toNanos(Long.getLong("http.cache.ttl.seconds", 60L)))
+            : null;
+
+    private final int maxEntries;
+    private final long ttlNanos;
+    private final LinkedHashMap<String, Entry> entries;
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder bypassed = new LongAdder();
+    private final LongAdder bypassedForLoad = new LongAdder();
+    private final LongAdder expired = new LongAdder();
+    private final LongAdder evicted = new LongAdder();
+    private final LongAdder invalidated = new LongAdder();
+
+    private ResponseCacheFilter(int maxEntries, long ttlNanos) {
+        this.maxEntries = maxEntries;
+        this.ttlNanos = ttlNanos;
+        // Access-ordered, so the eldest entry is always the least recently used
+        this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Entry> eldest) {
+                if (size() > ResponseCacheFilter.this.maxEntries) {
+                    evicted.increment();
+                    return true;
+                }
+                return false;
+            }
+        };
+        RunReport.register("HTTP response cache", this::metrics);
+    }
+
+    /**
+     * @return the cache when {@code http.cache} is enabled, otherwise empty
+     */
+    public static Optional<ResponseCacheFilter> configured() {
+        return Optional.ofNullable(CONFIGURED);
+    }
+
+    @Override
+    public Response filter(FilterableRequestSpecification requestSpec, FilterableResponseSpecification responseSpec,
+                           FilterContext ctx) {
+        if (CurrentTest.inLoadRun()) {
+            bypassedForLoad.increment();
+            return ctx.next(requestSpec, responseSpec);
+        }
+        if (!"GET".equals(requestSpec.getMethod())) {
+            invalidate(requestSpec.getURI());
+            return ctx.next(requestSpec, responseSpec);
+        }
+        String key = HttpMessages.representationKey(requestSpec);
+        if (CurrentTest.measuresLatency()) {
+            // Never served from cache, but a fresh response is still worth keeping for other tests
+            bypassed.increment();
+            Response response = ctx.next(requestSpec, responseSpec);
+            store(key, response);
+            return response;
+        }
+
+        long start = System.nanoTime();
+        Entry entry = lookup(key, start);
+        if (entry != null) {
+            hits.increment();
+            return HttpMessages.bufferedResponse(entry.statusCode, entry.statusLine, entry.headers, entry.body,
+                    TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+        }
+
+        misses.increment();
+        Response response = ctx.next(requestSpec, responseSpec);
+        store(key, response);
+        return response;
+    }
+
+    @Override
+    public int getOrder() {
+        return FilterOrder.CACHE;
+    }
+
+    private synchronized Entry lookup(String key, long now) {
+        Entry entry = entries.get(key);
+        if (entry != null && now - entry.expiresAtNanos > 0) {
+            entries.remove(key);
+            expired.increment();
+            return null;
+        }
+        return entry;
+    }
+
+    private void store(String key, Response response) {
+        if (response.getStatusCode() != 200) {
+            return;
+        }
+        String cacheControl = response.getHeader("Cache-Control");
+        long ttl = ttlNanos;
+        if (cacheControl != null) {
+            if (cacheControl.contains("no-store")) {
+                return;
+            }
+            Matcher maxAge = MAX_AGE.matcher(cacheControl);
+            if (maxAge.find()) {
+                ttl = Math.min(ttl, TimeUnit.SECONDS.toNanos(Long.parseLong(maxAge.group(1))));
+            }
+        }
+        if (ttl <= 0) {
+            return;
+        }
+        Entry entry = new Entry(response.getStatusCode(), response.getStatusLine(), response.getHeaders(),
+                response.asByteArray(), System.nanoTime() + ttl);
+        synchronized (this) {
+            entries.put(key, entry);
+        }
+    }
+
+    // A write to /products/1 makes both /products/1 and /products stale
+    private synchronized void invalidate(String uri) {
+        String path = uri.contains("?") ? uri.substring(0, uri.indexOf('?')) : uri;
+        String parent = path.substring(0, Math.max(path.lastIndexOf('/'), 0));
+        Iterator<String> keys = entries.keySet().iterator();
+        while (keys.hasNext()) {
+            String cachedUri = keys.next();
+            cachedUri = cachedUri.substring(0, cachedUri.indexOf('\n'));
+            if (cachedUri.equals(path) || cachedUri.startsWith(path + "?")
+                    || cachedUri.equals(parent) || cachedUri.startsWith(parent + "?")) {
+                keys.remove();
+                invalidated.increment();
+            }
+        }
+    }
+
+    private Map<String, Object> metrics() {
+        long lookups = hits.sum() + misses.sum();
+        Map<String, Object> metrics = new LinkedHashMap<>();
+        synchronized (this) {
+            metrics.put("entries", entries.size());
+        }
+        metrics.put("maxEntries", maxEntries);
+        metrics.put("hits", hits.sum());
+        metrics.put("misses", misses.sum());
+        metrics.put("hitRatio", String.format("%.2f", lookups == 0 ? 0.0 : (double) hits.sum() / lookups));
+        metrics.put("bypassedForLatencyTests", bypassed.sum());
+        metrics.put("bypassedForLoad", bypassedForLoad.sum());
+        metrics.put("expired", expired.sum());
+        metrics.put("evicted", evicted.sum());
+        metrics.put("invalidated", invalidated.sum());
+        return metrics;
+    }
+
+    /** Fully buffered cached response */
+    private static final class Entry {
+        final int statusCode;
+        final String statusLine;
+        final Headers headers;
+        final byte[] body;
+        final long expiresAtNanos;
+
+        Entry(int statusCode, String statusLine, Headers headers, byte[] body, long expiresAtNanos) {
+            this.statusCode = statusCode;
+            this.statusLine = statusLine;
+            this.headers = headers;
+            this.body = body;
+            this.expiresAtNanos = expiresAtNanos;
+        }
+    }
+}
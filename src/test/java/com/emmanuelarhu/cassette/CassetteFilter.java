@@ -0,0 +1,135 @@
+package com.emmanuelarhu.cassette;
+
+import com.emmanuelarhu.base.FilterOrder;
+import com.emmanuelarhu.base.HttpMessages;
+import com.emmanuelarhu.base.RunReport;
+import io.restassured.filter.FilterContext;
+import io.restassured.filter.OrderedFilter;
+import io.restassured.response.Response;
+import io.restassured.specification.FilterableRequestSpecification;
+import io.restassured.specification.FilterableResponseSpecification;
+
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Records every exchange the suite makes to a cassette file, or replays a cassette without
+ * touching the network. Selected with {@code http.cassette} ({@code off}, {@code record} or
+ * {@code replay}); the file is {@code http.cassette.file}.
+ *
+ * Sits between the reporting and transport filters: replayed responses still show up in Allure,
+ * and in replay mode the transport is never called. Replayed responses report their recorded
+ * response time. Requests are matched on method, path, query and body, never on host, so a cassette
+ * recorded against the stub or the live API replays against either. A request that was never
+ * recorded fails instead of going to the network.
+ */
+public final class CassetteFilter implements OrderedFilter {
+
+    private static final String DEFAULT_FILE = "target/cassettes/fakestore.cassette";
+
+    private static final CassetteFilter CONFIGURED = create(System.getProperty("http.cassette", "off"),
+            Paths.get(System.getProperty("http.cassette.file", DEFAULT_FILE)));
+
+    private final Path file;
+    private final CassetteWriter writer;
+    private final CassetteReader reader;
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder lookupNanos = new LongAdder();
+
+    private CassetteFilter(Path file, CassetteWriter writer, CassetteReader reader) {
+        this.file = file;
+        this.writer = writer;
+        this.reader = reader;
+        RunReport.register("HTTP cassette", this::metrics);
+    }
+
+    /**
+     * @return the filter selected by {@code http.cassette}, empty when cassettes are off
+     */
+    public static Optional<CassetteFilter> configured() {
+        return Optional.ofNullable(CONFIGURED);
+    }
+
+    private static CassetteFilter create(String mode, Path file) {
+        switch (mode.toLowerCase()) {
+            case "off":
+                return null;
+            case "record":
+                CassetteWriter writer = new CassetteWriter(file);
+                // Flush the buffered tail however the run ends
+                Runtime.getRuntime().addShutdownHook(new Thread(writer::close, "cassette-writer-close"));
+                System.out.println("📼 Recording HTTP traffic to " + file);
+                return new CassetteFilter(file, writer, null);
+            case "replay":
+                CassetteReader reader = new CassetteReader(file);
+                System.out.println("📼 Replaying " + reader.records() + " recorded exchanges from " + file);
+                return new CassetteFilter(file, null, reader);
+            default:
+                throw new IllegalArgumentException("Unknown http.cassette '" + mode + "', expected off, record or replay");
+        }
+    }
+
+    @Override
+    public Response filter(FilterableRequestSpecification requestSpec, FilterableResponseSpecification responseSpec,
+                           FilterContext ctx) {
+        return reader != null ? replay(requestSpec) : record(requestSpec, responseSpec, ctx);
+    }
+
+    private Response record(FilterableRequestSpecification requestSpec, FilterableResponseSpecification responseSpec,
+                            FilterContext ctx) {
+        Response response = ctx.next(requestSpec, responseSpec);
+        if (response.getStatusCode() == 304) {
+            // Revalidations would otherwise replace the full 200 recorded for the same request,
+            // and replay has no validators to turn a 304 back into a body
+            return response;
+        }
+        writer.append(requestSpec.getMethod(), CassetteFormat.target(requestSpec.getURI()), requestSpec.getHeaders(),
+                HttpMessages.requestBody(requestSpec), response.getStatusCode(), response.getStatusLine(),
+                response.getHeaders(), response.asByteArray(), response.getTime());
+        return response;
+    }
+
+    private Response replay(FilterableRequestSpecification requestSpec) {
+        long start = System.nanoTime();
+        CassetteReader.Recording recording = reader.find(requestSpec.getMethod(),
+                CassetteFormat.target(requestSpec.getURI()), HttpMessages.requestBody(requestSpec));
+        lookupNanos.add(System.nanoTime() - start);
+        if (recording == null) {
+            misses.increment();
+            throw new IllegalStateException("No cassette recording for " + requestSpec.getMethod() + " "
+                    + requestSpec.getURI() + " in " + file);
+        }
+        hits.increment();
+        return HttpMessages.bufferedResponse(recording.statusCode, recording.statusLine, recording.headers,
+                recording.body, recording.timeMillis);
+    }
+
+    @Override
+    public int getOrder() {
+        return FilterOrder.CASSETTE;
+    }
+
+    private Map<String, Object> metrics() {
+        Map<String, Object> metrics = new LinkedHashMap<>();
+        metrics.put("file", file);
+        if (writer != null) {
+            metrics.put("mode", "record");
+            metrics.put("recorded", writer.records());
+            metrics.put("bytes", writer.bytes());
+        } else {
+            long lookups = hits.sum() + misses.sum();
+            metrics.put("mode", "replay");
+            metrics.put("recordings", reader.records());
+            metrics.put("bytes", reader.sizeBytes());
+            metrics.put("hits", hits.sum());
+            metrics.put("misses", misses.sum());
+            metrics.put("meanLookupMicros", String.format("%.2f", lookups == 0 ? 0.0 : lookupNanos.sum() / 1000.0 / lookups));
+        }
+        return metrics;
+    }
+}
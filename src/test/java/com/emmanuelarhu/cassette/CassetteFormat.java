@@ -0,0 +1,78 @@
+package com.emmanuelarhu.cassette;
+
+import java.nio.charset.StandardCharsets;
+
+/**
+ * On-disk layout of a cassette. The file starts with {@link #MAGIC} followed by records:
+ * <pre>
+ * int    recordLength      bytes after this field
+ * long   key               {@link #key} of the request
+ * int    responseOffset    offset of the response section from the start of the record
+ * -- request --
+ * str    method
+ * str    target            path and query string
+ * int    headerCount, then str name / str value pairs
+ * bytes  body              int length (-1 for no body) followed by the bytes
+ * -- response --
+ * int    statusCode
+ * str    statusLine
+ * int    headerCount, then str name / str value pairs
+ * bytes  body
+ * long   timeMillis
+ * </pre>
+ * {@code str} is an int byte length followed by UTF-8 bytes. The fixed-size record prefix lets a
+ * reader index a file by hopping from record to record without decoding any payload.
+ */
+final class CassetteFormat {
+
+    static final byte[] MAGIC = "FSCAS001".getBytes(StandardCharsets.US_ASCII);
+
+    /** recordLength + key + responseOffset */
+    static final int RECORD_PREFIX = Integer.BYTES + Long.BYTES + Integer.BYTES;
+
+    private static final long FNV_OFFSET = 0xcbf29ce484222325L;
+    private static final long FNV_PRIME = 0x100000001b3L;
+
+    private CassetteFormat() {}
+
+    /**
+     * 64-bit FNV-1a over method, request target and body; requests with the same key replay the same response
+     * @param method HTTP method
+     * @param target Path and query string, see {@link #target}
+     * @param body Request body, or null
+     * @return Lookup key
+     */
+    static long key(String method, String target, byte[] body) {
+        long hash = FNV_OFFSET;
+        hash = mix(hash, method.getBytes(StandardCharsets.UTF_8));
+        hash = (hash ^ ' ') * FNV_PRIME;
+        hash = mix(hash, target.getBytes(StandardCharsets.UTF_8));
+        if (body != null) {
+            hash = (hash ^ '\n') * FNV_PRIME;
+            hash = mix(hash, body);
+        }
+        return hash;
+    }
+
+    /**
+     * Strip scheme and authority so a cassette recorded against one host (say the stub on an
+     * ephemeral port) replays against any other
+     * @param uri Full request URI
+     * @return Path and query string
+     */
+    static String target(String uri) {
+        int scheme = uri.indexOf("://");
+        if (scheme < 0) {
+            return uri;
+        }
+        int path = uri.indexOf('/', scheme + 3);
+        return path < 0 ? "/" : uri.substring(path);
+    }
+
+    private static long mix(long hash, byte[] bytes) {
+        for (byte b : bytes) {
+            hash = (hash ^ (b & 0xff)) * FNV_PRIME;
+        }
+        return hash;
+    }
+}
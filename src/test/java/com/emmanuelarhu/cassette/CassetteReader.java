@@ -0,0 +1,193 @@
+package com.emmanuelarhu.cassette;
+
+import io.restassured.http.Header;
+import io.restassured.http.Headers;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Read-only view of a cassette file, memory-mapped so recordings stay off the heap.
+ * Opening hops over the fixed record prefixes to build an open-addressing index of
+ * request key to record offset; payloads are only decoded for records whose key a lookup hits.
+ * A key hit is confirmed against the stored method, target and body, so two requests whose keys
+ * collide each keep their own slot. When a request was recorded more than once, the last recording wins.
+ */
+final class CassetteReader {
+
+    private final MappedByteBuffer buffer;
+    private final long[] keys;
+    private final int[] offsets; // record offset + 1, so 0 marks an empty slot
+    private final int mask;
+    private final int records;
+
+    CassetteReader(Path file) {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            if (channel.size() > Integer.MAX_VALUE) {
+                throw new IllegalStateException("Cassette " + file + " is larger than 2 GB");
+            }
+            this.buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not open cassette " + file, e);
+        }
+        checkMagic(file);
+
+        List<Integer> recordOffsets = new ArrayList<>();
+        int position = CassetteFormat.MAGIC.length;
+        while (position + CassetteFormat.RECORD_PREFIX <= buffer.limit()) {
+            int recordLength = buffer.getInt(position);
+            if (recordLength <= 0 || position + Integer.BYTES + recordLength > buffer.limit()) {
+                break; // Truncated tail from an interrupted recording
+            }
+            recordOffsets.add(position);
+            position += Integer.BYTES + recordLength;
+        }
+        this.records = recordOffsets.size();
+
+        int capacity = Integer.highestOneBit(Math.max(2, records * 2 - 1)) << 1;
+        this.keys = new long[capacity];
+        this.offsets = new int[capacity];
+        this.mask = capacity - 1;
+        for (int offset : recordOffsets) {
+            put(buffer.getLong(offset + Integer.BYTES), offset);
+        }
+    }
+
+    int records() {
+        return records;
+    }
+
+    long sizeBytes() {
+        return buffer.limit();
+    }
+
+    /**
+     * Find the recorded response for a request
+     * @return Recording, or null if this request was never recorded
+     */
+    Recording find(String method, String target, byte[] body) {
+        long key = CassetteFormat.key(method, target, body);
+        for (int slot = slot(key); offsets[slot] != 0; slot = (slot + 1) & mask) {
+            if (keys[slot] == key && matches(offsets[slot] - 1, method, target, body)) {
+                return decode(offsets[slot] - 1);
+            }
+        }
+        return null;
+    }
+
+    private void put(long key, int offset) {
+        int slot = slot(key);
+        while (offsets[slot] != 0 && !(keys[slot] == key && sameRequest(offsets[slot] - 1, offset))) {
+            slot = (slot + 1) & mask;
+        }
+        keys[slot] = key;
+        offsets[slot] = offset + 1;
+    }
+
+    private boolean sameRequest(int recorded, int offset) {
+        ByteBuffer record = request(offset);
+        String method = readString(record);
+        String target = readString(record);
+        skipHeaders(record);
+        return matches(recorded, method, target, readBytes(record));
+    }
+
+    private boolean matches(int offset, String method, String target, byte[] body) {
+        ByteBuffer record = request(offset);
+        if (!method.equals(readString(record)) || !target.equals(readString(record))) {
+            return false; // 64-bit key collision
+        }
+        skipHeaders(record);
+        return Arrays.equals(body, readBytes(record));
+    }
+
+    private ByteBuffer request(int offset) {
+        // Duplicate so concurrent lookups each get their own position
+        ByteBuffer record = buffer.duplicate();
+        record.position(offset + CassetteFormat.RECORD_PREFIX);
+        return record;
+    }
+
+    private int slot(long key) {
+        return (int) (key ^ (key >>> 32)) & mask;
+    }
+
+    private Recording decode(int offset) {
+        ByteBuffer record = request(offset);
+        record.position(offset + buffer.getInt(offset + Integer.BYTES + Long.BYTES));
+        int statusCode = record.getInt();
+        String statusLine = readString(record);
+        Headers headers = readHeaders(record);
+        byte[] body = readBytes(record);
+        long timeMillis = record.getLong();
+        return new Recording(statusCode, statusLine, headers, body == null ? new byte[0] : body, timeMillis);
+    }
+
+    private void checkMagic(Path file) {
+        byte[] magic = new byte[CassetteFormat.MAGIC.length];
+        if (buffer.limit() < magic.length) {
+            throw new IllegalStateException(file + " is not a cassette");
+        }
+        buffer.get(0, magic);
+        if (!Arrays.equals(magic, CassetteFormat.MAGIC)) {
+            throw new IllegalStateException(file + " is not a cassette");
+        }
+    }
+
+    private static Headers readHeaders(ByteBuffer record) {
+        int count = record.getInt();
+        List<Header> headers = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            headers.add(new Header(readString(record), readString(record)));
+        }
+        return new Headers(headers);
+    }
+
+    private static void skipHeaders(ByteBuffer record) {
+        int count = record.getInt();
+        for (int i = 0; i < count * 2; i++) {
+            int length = record.getInt();
+            record.position(record.position() + length);
+        }
+    }
+
+    private static String readString(ByteBuffer record) {
+        return new String(readBytes(record), StandardCharsets.UTF_8);
+    }
+
+    private static byte[] readBytes(ByteBuffer record) {
+        int length = record.getInt();
+        if (length < 0) {
+            return null;
+        }
+        byte[] bytes = new byte[length];
+        record.get(bytes);
+        return bytes;
+    }
+
+    /** Recorded response */
+    static final class Recording {
+        final int statusCode;
+        final String statusLine;
+        final Headers headers;
+        final byte[] body;
+        final long timeMillis;
+
+        Recording(int statusCode, String statusLine, Headers headers, byte[] body, long timeMillis) {
+            this.statusCode = statusCode;
+            this.statusLine = statusLine;
+            this.headers = headers;
+            this.body = body;
+            this.timeMillis = timeMillis;
+        }
+    }
+}
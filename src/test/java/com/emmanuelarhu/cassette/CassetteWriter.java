@@ -0,0 +1,118 @@
+package com.emmanuelarhu.cassette;
+
+import io.restassured.http.Header;
+import io.restassured.http.Headers;
+
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+/**
+ * Appends records to a new cassette file (see {@link CassetteFormat}).
+ * Safe to share between threads; each record is encoded off-lock and appended in one write.
+ */
+final class CassetteWriter implements AutoCloseable {
+
+    private final DataOutputStream out;
+    private long records;
+    private long bytes;
+
+    CassetteWriter(Path file) {
+        try {
+            Path parent = file.toAbsolutePath().getParent();
+            if (parent != null) {
+                Files.createDirectories(parent);
+            }
+            OutputStream stream = new BufferedOutputStream(Files.newOutputStream(file), 64 * 1024);
+            this.out = new DataOutputStream(stream);
+            out.write(CassetteFormat.MAGIC);
+            this.bytes = CassetteFormat.MAGIC.length;
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not create cassette " + file, e);
+        }
+    }
+
+    /**
+     * Append one request/response pair
+     */
+    void append(String method, String target, Headers requestHeaders, byte[] requestBody,
+                int statusCode, String statusLine, Headers responseHeaders, byte[] responseBody, long timeMillis) {
+        ByteArrayOutputStream request = new ByteArrayOutputStream();
+        ByteArrayOutputStream response = new ByteArrayOutputStream(responseBody.length + 512);
+        try {
+            DataOutputStream req = new DataOutputStream(request);
+            writeString(req, method);
+            writeString(req, target);
+            writeHeaders(req, requestHeaders);
+            writeBytes(req, requestBody);
+
+            DataOutputStream res = new DataOutputStream(response);
+            res.writeInt(statusCode);
+            writeString(res, statusLine);
+            writeHeaders(res, responseHeaders);
+            writeBytes(res, responseBody);
+            res.writeLong(timeMillis);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e); // In-memory streams never throw
+        }
+
+        int recordLength = Long.BYTES + Integer.BYTES + request.size() + response.size();
+        synchronized (this) {
+            try {
+                out.writeInt(recordLength);
+                out.writeLong(CassetteFormat.key(method, target, requestBody));
+                out.writeInt(CassetteFormat.RECORD_PREFIX + request.size());
+                request.writeTo(out);
+                response.writeTo(out);
+            } catch (IOException e) {
+                throw new UncheckedIOException("Could not append to cassette", e);
+            }
+            records++;
+            bytes += Integer.BYTES + recordLength;
+        }
+    }
+
+    synchronized long records() {
+        return records;
+    }
+
+    synchronized long bytes() {
+        return bytes;
+    }
+
+    @Override
+    public synchronized void close() {
+        try {
+            out.close();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not close cassette", e);
+        }
+    }
+
+    private static void writeHeaders(DataOutputStream out, Headers headers) throws IOException {
+        out.writeInt(headers.size());
+        for (Header header : headers) {
+            writeString(out, header.getName());
+            writeString(out, header.getValue());
+        }
+    }
+
+    private static void writeString(DataOutputStream out, String value) throws IOException {
+        writeBytes(out, value.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static void writeBytes(DataOutputStream out, byte[] value) throws IOException {
+        if (value == null) {
+            out.writeInt(-1);
+            return;
+        }
+        out.writeInt(value.length);
+        out.write(value);
+    }
+}
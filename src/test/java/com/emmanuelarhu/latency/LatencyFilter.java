@@ -0,0 +1,200 @@
+package com.emmanuelarhu.latency;
+
+import com.emmanuelarhu.base.FilterOrder;
+import com.emmanuelarhu.base.HttpMessages;
+import com.emmanuelarhu.base.RequestPhases;
+import com.emmanuelarhu.base.RequestPhases.Phase;
+import com.emmanuelarhu.base.RunReport;
+import io.restassured.filter.FilterContext;
+import io.restassured.filter.OrderedFilter;
+import io.restassured.response.Response;
+import io.restassured.specification.FilterableRequestSpecification;
+import io.restassured.specification.FilterableResponseSpecification;
+
+import java.util.Arrays;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Records the latency of every request that reaches the transport into a {@link LatencyHistogram} per
+ * method and endpoint template ({@code GET /products/{id}}), so cache hits and replayed responses are
+ * left out. Requests that fail without a response are counted as errors, not timed. Each request's
+ * {@link RequestPhases} go into one histogram per endpoint and phase; DNS, connect and TLS only count the
+ * requests that opened a connection.
+ *
+ * Latency is service time, from when the request is actually sent. Requests with a scheduled send time
+ * (open-model load) also go into a corrected histogram that adds their queue phase, the wait between the
+ * scheduled and the actual send, so a client falling behind shows up as latency instead of being left out
+ * of the measurements (coordinated omission). Without a schedule the corrected latency is the service time.
+ *
+ * The histogram for a request is found by method and path as written in the test, which after the first
+ * request is a plain map lookup; only the first request of a path works out its template. On by default;
+ * disable with {@code -Dlatency.histograms=false}. {@link LatencyReport} writes the results at suite end.
+ */
+public final class LatencyFilter implements OrderedFilter {
+
+    private static final Phase[] PHASES = Phase.values();
+
+    private static final LatencyFilter CONFIGURED = "false".equalsIgnoreCase(System.getProperty("latency.histograms"))
+            ? null
+            : new LatencyFilter();
+
+    // Paths built from test input are bounded by the data providers, but never trust that blindly
+    private static final int MAX_CACHED_PATHS = 1024;
+
+    private final Map<String, Endpoint> endpoints = new ConcurrentHashMap<>();
+    private final Map<String, Map<String, Endpoint>> byPath = new ConcurrentHashMap<>();
+
+    private LatencyFilter() {
+        RunReport.register("Latency", this::metrics);
+    }
+
+    /**
+     * @return the filter unless {@code latency.histograms=false}
+     */
+    public static Optional<LatencyFilter> configured() {
+        return Optional.ofNullable(CONFIGURED);
+    }
+
+    @Override
+    public Response filter(FilterableRequestSpecification requestSpec, FilterableResponseSpecification responseSpec,
+                           FilterContext ctx) {
+        Endpoint endpoint = endpoint(requestSpec.getMethod(), requestSpec.getUserDefinedPath());
+        // Normally opened by the reporting filter; requests built without the shared specs get their own
+        RequestPhases outer = RequestPhases.current();
+        RequestPhases phases = outer != null ? outer : RequestPhases.begin();
+        long start = System.nanoTime();
+        Response response;
+        try {
+            response = ctx.next(requestSpec, responseSpec);
+        } catch (Exception e) { // Groovy internals can rethrow a checked IOException unwrapped
+            endpoint.errors.increment();
+            throw e;
+        } finally {
+            if (outer == null) {
+                phases.end();
+            }
+        }
+        long micros = TimeUnit.NANOSECONDS.toMicros(System.nanoTime() - start);
+        endpoint.histogram.record(micros);
+        endpoint.corrected.record(micros + Math.max(0L, phases.micros(Phase.QUEUE)));
+        endpoint.record(phases);
+        return response;
+    }
+
+    @Override
+    public int getOrder() {
+        return FilterOrder.LATENCY;
+    }
+
+    /**
+     * @return histogram per endpoint template, sorted by endpoint
+     */
+    public Map<String, LatencyHistogram> histograms() {
+        Map<String, LatencyHistogram> histograms = new TreeMap<>();
+        endpoints.forEach((name, endpoint) -> histograms.put(name, endpoint.histogram));
+        return histograms;
+    }
+
+    /**
+     * @return histogram per endpoint template, sorted by endpoint, of latency including the queue phase
+     */
+    public Map<String, LatencyHistogram> correctedHistograms() {
+        Map<String, LatencyHistogram> histograms = new TreeMap<>();
+        endpoints.forEach((name, endpoint) -> histograms.put(name, endpoint.corrected));
+        return histograms;
+    }
+
+    /**
+     * @return per endpoint template, sorted, a histogram for each phase any of its requests went through
+     */
+    public Map<String, Map<Phase, LatencyHistogram>> phaseHistograms() {
+        Map<String, Map<Phase, LatencyHistogram>> histograms = new TreeMap<>();
+        endpoints.forEach((name, endpoint) -> {
+            Map<Phase, LatencyHistogram> phases = new EnumMap<>(Phase.class);
+            for (Phase phase : PHASES) {
+                LatencyHistogram histogram = endpoint.phases[phase.ordinal()];
+                if (histogram.count() > 0) {
+                    phases.put(phase, histogram);
+                }
+            }
+            histograms.put(name, phases);
+        });
+        return histograms;
+    }
+
+    /**
+     * @return requests per endpoint template that failed without a response
+     */
+    public Map<String, Long> errors() {
+        Map<String, Long> errors = new TreeMap<>();
+        endpoints.forEach((name, endpoint) -> errors.put(name, endpoint.errors.sum()));
+        return errors;
+    }
+
+    private Endpoint endpoint(String method, String path) {
+        Map<String, Endpoint> paths = byPath.computeIfAbsent(method, m -> new ConcurrentHashMap<>());
+        Endpoint endpoint = paths.get(path);
+        if (endpoint == null) {
+            endpoint = endpoints.computeIfAbsent(HttpMessages.endpoint(method, path), name -> new Endpoint());
+            if (paths.size() < MAX_CACHED_PATHS) {
+                paths.put(path, endpoint);
+            }
+        }
+        return endpoint;
+    }
+
+    private Map<String, Object> metrics() {
+        Map<String, Object> metrics = new LinkedHashMap<>();
+        Map<String, Map<Phase, LatencyHistogram>> phases = phaseHistograms();
+        histograms().forEach((name, histogram) -> {
+            metrics.put(name, String.format(
+                    "count=%d errors=%d p50=%s p90=%s p99=%s p99.9=%s max=%s", histogram.count(), endpoints.get(name).errors.sum(),
+                    LatencyReport.millis(histogram.percentileMicros(50)), LatencyReport.millis(histogram.percentileMicros(90)),
+                    LatencyReport.millis(histogram.percentileMicros(99)), LatencyReport.millis(histogram.percentileMicros(99.9)),
+                    LatencyReport.millis(histogram.maxMicros())));
+            Endpoint endpoint = endpoints.get(name);
+            if (endpoint.phases[Phase.QUEUE.ordinal()].count() > 0) {
+                metrics.put(name + " corrected", String.format("p50=%s p90=%s p99=%s p99.9=%s max=%s",
+                        LatencyReport.millis(endpoint.corrected.percentileMicros(50)),
+                        LatencyReport.millis(endpoint.corrected.percentileMicros(90)),
+                        LatencyReport.millis(endpoint.corrected.percentileMicros(99)),
+                        LatencyReport.millis(endpoint.corrected.percentileMicros(99.9)),
+                        LatencyReport.millis(endpoint.corrected.maxMicros())));
+            }
+            StringBuilder line = new StringBuilder("p50/p95 (count)");
+            phases.get(name).forEach((phase, phaseHistogram) -> line.append(' ').append(phase.label()).append('=')
+                    .append(LatencyReport.millis(phaseHistogram.percentileMicros(50))).append('/')
+                    .append(LatencyReport.millis(phaseHistogram.percentileMicros(95)))
+                    .append(" (").append(phaseHistogram.count()).append(')'));
+            metrics.put(name + " phases", line.toString());
+        });
+        return metrics;
+    }
+
+    private static final class Endpoint {
+        final LatencyHistogram histogram = new LatencyHistogram();
+        final LatencyHistogram corrected = new LatencyHistogram();
+        final LatencyHistogram[] phases = new LatencyHistogram[PHASES.length];
+        final LongAdder errors = new LongAdder();
+
+        Endpoint() {
+            Arrays.setAll(phases, phase -> new LatencyHistogram());
+        }
+
+        void record(RequestPhases request) {
+            for (Phase phase : PHASES) {
+                long micros = request.micros(phase);
+                if (micros >= 0) {
+                    phases[phase.ordinal()].record(micros);
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,112 @@
+package com.emmanuelarhu.latency;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Compares each endpoint's p95 in this run with its p95 over the last {@code latency.gate.baseline.builds}
+ * builds in the {@link LatencyTrendStore}, using the modified z-score (Iglewicz and Hoaglin): median and
+ * median absolute deviation instead of mean and standard deviation, so one slow build in the baseline
+ * does not hide the next regression. An endpoint regresses when its z-score exceeds
+ * {@code latency.gate.z} (3.5) and its p95 is at least {@code latency.gate.min.increase.percent} (10%) above
+ * the baseline median, the second condition keeping a very stable baseline from flagging noise.
+ *
+ * Endpoints with fewer than {@code latency.gate.min.count} requests in a build, or fewer than
+ * {@code latency.gate.min.builds} baseline builds, are not judged. {@code latency.gate} is {@code flag}
+ * (default: report regressions), {@code fail} (also fail the build) or {@code off}.
+ */
+final class LatencyGate {
+
+    enum Mode { OFF, FLAG, FAIL }
+
+    // Scales the median absolute deviation to the standard deviation of a normal distribution
+    private static final double MAD_SCALE = 0.6745;
+
+    final Mode mode = Mode.valueOf(System.getProperty("latency.gate", "flag").toUpperCase(Locale.ROOT));
+    final int baselineBuilds = Integer.getInteger("latency.gate.baseline.builds", 20);
+    final int minBuilds = Integer.getInteger("latency.gate.min.builds", 5);
+    final long minCount = Long.getLong("latency.gate.min.count", 5L);
+    private final double zThreshold = Double.parseDouble(System.getProperty("latency.gate.z", "3.5"));
+    private final double minIncrease = Double.parseDouble(System.getProperty("latency.gate.min.increase.percent", "10")) / 100.0;
+
+    /** Outcome for one endpoint */
+    static final class Verdict {
+        final String endpoint;
+        final long p95Micros;
+        final int baselineBuilds;
+        final long medianMicros;
+        final double z;
+        final boolean regression;
+
+        Verdict(String endpoint, long p95Micros, int baselineBuilds, long medianMicros, double z, boolean regression) {
+            this.endpoint = endpoint;
+            this.p95Micros = p95Micros;
+            this.baselineBuilds = baselineBuilds;
+            this.medianMicros = medianMicros;
+            this.z = z;
+            this.regression = regression;
+        }
+
+        Map<String, Object> toMap() {
+            Map<String, Object> map = new LinkedHashMap<>();
+            map.put("p95", LatencyReport.millis(p95Micros));
+            map.put("baselineBuilds", baselineBuilds);
+            map.put("baselineMedianP95", LatencyReport.millis(medianMicros));
+            map.put("z", Double.isInfinite(z) ? "inf" : String.format(Locale.ROOT, "%.2f", z));
+            map.put("regression", regression);
+            return map;
+        }
+    }
+
+    /**
+     * Judge every endpoint of this run that has enough requests and baseline
+     * @param histograms This run's histogram per endpoint
+     * @param baseline Previous p95 values per endpoint, from {@link LatencyTrendStore#baseline}
+     * @return one verdict per judged endpoint
+     */
+    List<Verdict> evaluate(Map<String, LatencyHistogram> histograms, Map<String, List<Long>> baseline) {
+        List<Verdict> verdicts = new ArrayList<>();
+        histograms.forEach((endpoint, histogram) -> {
+            List<Long> previous = baseline.get(endpoint);
+            if (histogram.count() < minCount || previous == null || previous.size() < minBuilds) {
+                return;
+            }
+            long p95 = histogram.percentileMicros(95);
+            long[] values = previous.stream().mapToLong(Long::longValue).toArray();
+            long median = median(values);
+            long[] deviations = Arrays.stream(values).map(value -> Math.abs(value - median)).toArray();
+            long mad = median(deviations);
+            double z = mad == 0
+                    ? (p95 > median ? Double.POSITIVE_INFINITY : 0)
+                    : MAD_SCALE * (p95 - median) / mad;
+            boolean regression = z > zThreshold && p95 >= median * (1 + minIncrease);
+            verdicts.add(new Verdict(endpoint, p95, values.length, median, z, regression));
+        });
+        return verdicts;
+    }
+
+    /**
+     * @param verdicts Result of {@link #evaluate}
+     * @return one line per judged endpoint, regressions marked
+     */
+    static List<String> describe(List<Verdict> verdicts) {
+        List<String> lines = new ArrayList<>();
+        for (Verdict verdict : verdicts) {
+            lines.add(String.format(Locale.ROOT, "%s p95=%s ms, baseline median %s ms over %d builds, z=%s%s",
+                    verdict.endpoint, LatencyReport.millis(verdict.p95Micros), LatencyReport.millis(verdict.medianMicros),
+                    verdict.baselineBuilds, verdict.toMap().get("z"), verdict.regression ? " - REGRESSION" : ""));
+        }
+        return lines;
+    }
+
+    private static long median(long[] values) {
+        long[] sorted = values.clone();
+        Arrays.sort(sorted);
+        int middle = sorted.length / 2;
+        return sorted.length % 2 == 1 ? sorted[middle] : (sorted[middle - 1] + sorted[middle]) / 2;
+    }
+}
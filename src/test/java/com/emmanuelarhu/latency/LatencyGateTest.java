@@ -0,0 +1,102 @@
+package com.emmanuelarhu.latency;
+
+import io.qameta.allure.*;
+import org.testng.annotations.Test;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.testng.Assert.*;
+
+/**
+ * Checks of the {@link LatencyGate} verdicts at its default settings (z above 3.5, p95 at least 10% over the
+ * baseline median, 5 requests and 5 baseline builds) against baselines whose median and MAD are known by hand.
+ * Latencies stay under 256 µs, which the histogram records exactly. No API calls.
+ */
+@Epic("Framework Self-Tests")
+@Feature("Latency Regression Gate")
+public class LatencyGateTest {
+
+    private static final String ENDPOINT = "GET /products";
+    // Median 100, MAD 5: z = 0.6745 * (p95 - 100) / 5 crosses 3.5 between 125 and 126 µs
+    private static final List<Long> SPREAD = List.of(90L, 95L, 100L, 105L, 110L);
+    // Median 100, MAD 1: z crosses 3.5 between 105 and 106 µs, well short of the 10% increase
+    private static final List<Long> TIGHT = List.of(98L, 99L, 100L, 101L, 102L);
+    // Median 100, MAD 0: any slower p95 scores an infinite z, so only the 10% increase decides
+    private static final List<Long> FLAT = List.of(100L, 100L, 100L, 100L, 100L);
+
+    private final LatencyGate gate = new LatencyGate();
+
+    @Test(groups = {"unit"})
+    @Story("z-score Threshold")
+    @Description("Verify that a p95 just under the z threshold passes and one just over it regresses")
+    @Severity(SeverityLevel.CRITICAL)
+    public void testZScoreThreshold() {
+        LatencyGate.Verdict under = judge(125, SPREAD);
+        assertEquals(under.medianMicros, 100L, "Baseline median");
+        assertEquals(under.z, 0.6745 * 25 / 5, 1e-9, "z just under the threshold");
+        assertFalse(under.regression, "p95 of 125 µs should pass at z=" + under.z);
+
+        LatencyGate.Verdict over = judge(126, SPREAD);
+        assertEquals(over.z, 0.6745 * 26 / 5, 1e-9, "z just over the threshold");
+        assertTrue(over.regression, "p95 of 126 µs should regress at z=" + over.z);
+    }
+
+    @Test(groups = {"unit"})
+    @Story("Minimum Increase")
+    @Description("Verify that a very stable baseline does not flag an increase under 10%, however high its z")
+    @Severity(SeverityLevel.CRITICAL)
+    public void testMinimumIncreaseGuardsStableBaseline() {
+        LatencyGate.Verdict verdict = judge(106, TIGHT);
+
+        assertTrue(verdict.z > 3.5, "z should be over the threshold, was " + verdict.z);
+        assertFalse(verdict.regression, "A 6% increase should not regress");
+    }
+
+    @Test(groups = {"unit"})
+    @Story("Zero MAD")
+    @Description("Verify that a baseline with no spread scores an infinite z and regresses only past a 10% increase")
+    @Severity(SeverityLevel.CRITICAL)
+    public void testZeroMadBaseline() {
+        LatencyGate.Verdict same = judge(100, FLAT);
+        assertEquals(same.z, 0.0, "z of an unchanged p95");
+        assertFalse(same.regression, "An unchanged p95 should pass");
+
+        LatencyGate.Verdict under = judge(109, FLAT);
+        assertEquals(under.z, Double.POSITIVE_INFINITY, "z of a slower p95");
+        assertEquals(under.toMap().get("z"), "inf", "Infinite z in the report");
+        assertFalse(under.regression, "A 9% increase should pass");
+
+        assertTrue(judge(111, FLAT).regression, "An 11% increase should regress");
+    }
+
+    @Test(groups = {"unit"})
+    @Story("Insufficient Data")
+    @Description("Verify that endpoints with too few requests or too few baseline builds are not judged")
+    @Severity(SeverityLevel.NORMAL)
+    public void testInsufficientDataIsNotJudged() {
+        assertTrue(gate.evaluate(Map.of(ENDPOINT, histogram(500, 4)), Map.of(ENDPOINT, SPREAD)).isEmpty(),
+                "4 requests should not be judged");
+        assertTrue(gate.evaluate(Map.of(ENDPOINT, histogram(500, 5)), Map.of(ENDPOINT, SPREAD.subList(0, 4))).isEmpty(),
+                "4 baseline builds should not be judged");
+        assertTrue(gate.evaluate(Map.of(ENDPOINT, histogram(500, 5)), Map.of()).isEmpty(),
+                "An endpoint without a baseline should not be judged");
+    }
+
+    private LatencyGate.Verdict judge(long p95Micros, List<Long> baseline) {
+        List<LatencyGate.Verdict> verdicts = gate.evaluate(Map.of(ENDPOINT, histogram(p95Micros, 20)),
+                Map.of(ENDPOINT, baseline));
+        assertEquals(verdicts.size(), 1, "Verdicts for one endpoint");
+        LatencyGate.Verdict verdict = verdicts.get(0);
+        assertEquals(verdict.p95Micros, p95Micros, "Recorded p95");
+        return verdict;
+    }
+
+    private static LatencyHistogram histogram(long micros, int count) {
+        LatencyHistogram histogram = new LatencyHistogram();
+        for (int i = 0; i < count; i++) {
+            histogram.record(micros);
+        }
+        return histogram;
+    }
+}
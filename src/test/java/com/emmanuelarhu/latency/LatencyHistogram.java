@@ -0,0 +1,169 @@
+package com.emmanuelarhu.latency;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * High-dynamic-range latency histogram in microseconds, laid out like HdrHistogram: values are grouped
+ * by power of two, and each power of two is split into {@value #SUB_BUCKET_HALF_COUNT} linear sub-buckets,
+ * so every recorded value is kept to within 1% from 1 µs up to {@link #MAX_TRACKABLE_MICROS}; larger values
+ * are counted as the maximum.
+ *
+ * {@link #record(long)} is lock-free and allocation-free: one atomic increment of a pre-sized counter
+ * array plus two atomic updates for the sum and maximum. Reads are not synchronised with recording,
+ * which is fine for a report taken after the requests it covers.
+ */
+public final class LatencyHistogram {
+
+    /** One hour */
+    static final long MAX_TRACKABLE_MICROS = 3_600_000_000L;
+
+    private static final int SUB_BUCKET_HALF_COUNT_MAGNITUDE = 7;
+    private static final int SUB_BUCKET_HALF_COUNT = 1 << SUB_BUCKET_HALF_COUNT_MAGNITUDE;
+    private static final int SUB_BUCKET_COUNT = SUB_BUCKET_HALF_COUNT * 2;
+    private static final long SUB_BUCKET_MASK = SUB_BUCKET_COUNT - 1;
+    private static final int LEADING_ZERO_COUNT_BASE = 64 - SUB_BUCKET_HALF_COUNT_MAGNITUDE - 1;
+    private static final int COUNTS_LENGTH = countsIndex(MAX_TRACKABLE_MICROS) + 1;
+
+    private final AtomicLongArray counts = new AtomicLongArray(COUNTS_LENGTH);
+    private final AtomicLong sum = new AtomicLong();
+    private final AtomicLong max = new AtomicLong();
+
+    /**
+     * @param micros Latency in microseconds; negative values count as zero
+     */
+    public void record(long micros) {
+        long value = Math.min(Math.max(micros, 0), MAX_TRACKABLE_MICROS);
+        counts.incrementAndGet(countsIndex(value));
+        sum.addAndGet(value);
+        long current = max.get();
+        while (value > current && !max.compareAndSet(current, value)) {
+            current = max.get();
+        }
+    }
+
+    /**
+     * @return number of recorded values
+     */
+    public long count() {
+        long total = 0;
+        for (int i = 0; i < COUNTS_LENGTH; i++) {
+            total += counts.get(i);
+        }
+        return total;
+    }
+
+    /**
+     * @return largest recorded value, exact
+     */
+    public long maxMicros() {
+        return max.get();
+    }
+
+    /**
+     * @return mean of the recorded values, 0 if there are none
+     */
+    public double meanMicros() {
+        long total = count();
+        return total == 0 ? 0 : (double) sum.get() / total;
+    }
+
+    /**
+     * Value at a percentile, reported as the highest value of its sub-bucket as HdrHistogram does
+     * @param percentile 0 to 100, e.g. 99.9
+     * @return microseconds at or below which {@code percentile}% of the recorded values fall, 0 if there are none
+     */
+    public long percentileMicros(double percentile) {
+        long total = count();
+        if (total == 0) {
+            return 0;
+        }
+        long target = Math.max(1, (long) Math.ceil(percentile / 100.0 * total));
+        long seen = 0;
+        for (int i = 0; i < COUNTS_LENGTH; i++) {
+            seen += counts.get(i);
+            if (seen >= target) {
+                return Math.min(highestEquivalentValue(i), max.get());
+            }
+        }
+        return max.get();
+    }
+
+    /**
+     * Add every value recorded in {@code other} to this histogram
+     * @param other Histogram to merge in
+     */
+    public void add(LatencyHistogram other) {
+        for (int i = 0; i < COUNTS_LENGTH; i++) {
+            long count = other.counts.get(i);
+            if (count != 0) {
+                counts.addAndGet(i, count);
+            }
+        }
+        sum.addAndGet(other.sum.get());
+        max.accumulateAndGet(other.max.get(), Math::max);
+    }
+
+    /**
+     * Write the histogram losslessly: its non-empty counters, the sum and the maximum
+     * @param out Stream to write to
+     * @throws IOException if the stream fails
+     */
+    public void writeTo(DataOutput out) throws IOException {
+        int nonEmpty = 0;
+        for (int i = 0; i < COUNTS_LENGTH; i++) {
+            nonEmpty += counts.get(i) == 0 ? 0 : 1;
+        }
+        out.writeInt(nonEmpty);
+        for (int i = 0; i < COUNTS_LENGTH && nonEmpty > 0; i++) {
+            long count = counts.get(i);
+            if (count != 0) {
+                out.writeInt(i);
+                out.writeLong(count);
+                nonEmpty--;
+            }
+        }
+        out.writeLong(sum.get());
+        out.writeLong(max.get());
+    }
+
+    /**
+     * Read a histogram written by {@link #writeTo}
+     * @param in Stream to read from
+     * @return histogram with the same counts, sum and maximum
+     * @throws IOException if the stream fails or holds a counter this histogram does not have
+     */
+    public static LatencyHistogram readFrom(DataInput in) throws IOException {
+        LatencyHistogram histogram = new LatencyHistogram();
+        for (int n = in.readInt(); n > 0; n--) {
+            int index = in.readInt();
+            if (index < 0 || index >= COUNTS_LENGTH) {
+                throw new IOException("Histogram counter " + index + " out of range");
+            }
+            histogram.counts.set(index, in.readLong());
+        }
+        histogram.sum.set(in.readLong());
+        histogram.max.set(in.readLong());
+        return histogram;
+    }
+
+    static int countsIndex(long value) {
+        int bucketIndex = LEADING_ZERO_COUNT_BASE - Long.numberOfLeadingZeros(value | SUB_BUCKET_MASK);
+        int subBucketIndex = (int) (value >>> bucketIndex);
+        return ((bucketIndex + 1) << SUB_BUCKET_HALF_COUNT_MAGNITUDE) + (subBucketIndex - SUB_BUCKET_HALF_COUNT);
+    }
+
+    static long highestEquivalentValue(int countsIndex) {
+        int bucketIndex = (countsIndex >> SUB_BUCKET_HALF_COUNT_MAGNITUDE) - 1;
+        int subBucketIndex = (countsIndex & (SUB_BUCKET_HALF_COUNT - 1)) + SUB_BUCKET_HALF_COUNT;
+        if (bucketIndex < 0) {
+            subBucketIndex -= SUB_BUCKET_HALF_COUNT;
+            bucketIndex = 0;
+        }
+        long lowest = (long) subBucketIndex << bucketIndex;
+        return lowest + (1L << bucketIndex) - 1;
+    }
+}
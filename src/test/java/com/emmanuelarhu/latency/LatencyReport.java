@@ -0,0 +1,159 @@
+package com.emmanuelarhu.latency;
+
+import com.emmanuelarhu.base.RequestPhases.Phase;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import io.qameta.allure.Allure;
+import io.qameta.allure.AllureLifecycle;
+import io.qameta.allure.model.Status;
+import io.qameta.allure.model.StatusDetails;
+import io.qameta.allure.model.TestResult;
+import io.qameta.allure.util.ResultsUtils;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.math.BigDecimal;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Percentile summary of the {@link LatencyFilter} histograms: count, errors, mean, p50, p90, p95, p99, p99.9 and max
+ * per endpoint, plus all endpoints together, in milliseconds, each with the same breakdown for every request
+ * phase (DNS, connect, TLS, time to first byte, transfer). When requests had scheduled send times, a
+ * "corrected" block gives the percentiles with the queue phase added, next to the uncorrected service time.
+ * Written as JSON to {@code latency.report.file} and attached to the Allure report on a "Latency histograms"
+ * entry in the "Run metrics" suite.
+ */
+public final class LatencyReport {
+
+    private static final String DEFAULT_FILE = "target/latency/latency-histograms.json";
+    private static final ObjectMapper MAPPER = new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT);
+
+    private LatencyReport() {}
+
+    /**
+     * Summarise the recorded histograms
+     * @param filter Filter that recorded them
+     * @return JSON-ready summary
+     */
+    public static Map<String, Object> summary(LatencyFilter filter) {
+        Map<String, LatencyHistogram> histograms = filter.histograms();
+        Map<String, LatencyHistogram> corrected = filter.correctedHistograms();
+        Map<String, Map<Phase, LatencyHistogram>> phases = filter.phaseHistograms();
+        Map<String, Long> errors = filter.errors();
+        LatencyHistogram all = new LatencyHistogram();
+        LatencyHistogram allCorrected = new LatencyHistogram();
+        Map<Phase, LatencyHistogram> allPhases = new EnumMap<>(Phase.class);
+        Map<String, Object> endpoints = new LinkedHashMap<>();
+        histograms.forEach((name, histogram) -> {
+            all.add(histogram);
+            allCorrected.add(corrected.get(name));
+            Map<Phase, LatencyHistogram> endpointPhases = phases.getOrDefault(name, Map.of());
+            endpointPhases.forEach((phase, phaseHistogram) ->
+                    allPhases.computeIfAbsent(phase, key -> new LatencyHistogram()).add(phaseHistogram));
+            endpoints.put(name, percentiles(histogram, corrected.get(name), errors.getOrDefault(name, 0L), endpointPhases));
+        });
+        Map<String, Object> summary = new LinkedHashMap<>();
+        summary.put("unit", "ms");
+        summary.put("all", percentiles(all, allCorrected, errors.values().stream().mapToLong(Long::longValue).sum(), allPhases));
+        summary.put("endpoints", endpoints);
+        return summary;
+    }
+
+    /**
+     * Write the summary to {@code latency.report.file} and attach it to the Allure report
+     * @param filter Filter whose histograms to report
+     * @return File written
+     */
+    public static Path write(LatencyFilter filter) {
+        Path file = Paths.get(System.getProperty("latency.report.file", DEFAULT_FILE));
+        try {
+            byte[] json = toJson(summary(filter));
+            Files.createDirectories(file.toAbsolutePath().getParent());
+            Files.write(file, json);
+            attach("Latency histograms", "latency-histograms", Status.PASSED, null, json);
+            return file;
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not write latency report " + file, e);
+        }
+    }
+
+    public static byte[] toJson(Object value) {
+        try {
+            return MAPPER.writeValueAsBytes(value);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not serialise latency report", e);
+        }
+    }
+
+    static BigDecimal millis(long micros) {
+        return BigDecimal.valueOf(micros, 3);
+    }
+
+    private static Map<String, Object> percentiles(LatencyHistogram histogram, LatencyHistogram corrected, long errors,
+                                                   Map<Phase, LatencyHistogram> phases) {
+        Map<String, Object> percentiles = new LinkedHashMap<>();
+        percentiles.put("count", histogram.count());
+        percentiles.put("errors", errors);
+        percentiles.putAll(percentiles(histogram));
+        if (phases.containsKey(Phase.QUEUE)) {
+            percentiles.put("corrected", percentiles(corrected));
+        }
+        Map<String, Object> phasePercentiles = new LinkedHashMap<>();
+        phases.forEach((phase, phaseHistogram) -> {
+            Map<String, Object> values = new LinkedHashMap<>();
+            values.put("count", phaseHistogram.count());
+            values.putAll(percentiles(phaseHistogram));
+            phasePercentiles.put(phase.label(), values);
+        });
+        percentiles.put("phases", phasePercentiles);
+        return percentiles;
+    }
+
+    /**
+     * @param histogram Latencies to summarise
+     * @return mean, p50, p90, p95, p99, p99.9 and max in milliseconds
+     */
+    public static Map<String, Object> percentiles(LatencyHistogram histogram) {
+        Map<String, Object> percentiles = new LinkedHashMap<>();
+        percentiles.put("mean", millis(Math.round(histogram.meanMicros())));
+        percentiles.put("p50", millis(histogram.percentileMicros(50)));
+        percentiles.put("p90", millis(histogram.percentileMicros(90)));
+        percentiles.put("p95", millis(histogram.percentileMicros(95)));
+        percentiles.put("p99", millis(histogram.percentileMicros(99)));
+        percentiles.put("p99.9", millis(histogram.percentileMicros(99.9)));
+        percentiles.put("max", millis(histogram.maxMicros()));
+        return percentiles;
+    }
+
+    /**
+     * Add a "Run metrics" entry carrying a JSON attachment; there is no test running at suite end to attach it to
+     * @param name Entry and attachment name
+     * @param historyId Stable id, so the entry has a history across builds
+     * @param status Entry status
+     * @param message Status message, or null
+     * @param json Attachment content
+     */
+    public static void attach(String name, String historyId, Status status, String message, byte[] json) {
+        AllureLifecycle lifecycle = Allure.getLifecycle();
+        String uuid = UUID.randomUUID().toString();
+        lifecycle.scheduleTestCase(new TestResult()
+                .setUuid(uuid)
+                .setHistoryId(historyId)
+                .setName(name)
+                .setFullName(LatencyReport.class.getPackageName() + "." + historyId)
+                .setStatus(status)
+                .setStatusDetails(message == null ? null : new StatusDetails().setMessage(message))
+                .setLabels(List.of(ResultsUtils.createSuiteLabel("Run metrics"))));
+        lifecycle.startTestCase(uuid);
+        lifecycle.addAttachment(name, "application/json", ".json", json);
+        lifecycle.stopTestCase(uuid);
+        lifecycle.writeTestCase(uuid);
+    }
+}
@@ -0,0 +1,91 @@
+package com.emmanuelarhu.latency;
+
+import com.emmanuelarhu.load.LoadProfile;
+import com.emmanuelarhu.reporting.TestLog;
+import io.qameta.allure.model.Status;
+import org.slf4j.Logger;
+import org.testng.ISuite;
+import org.testng.ISuiteListener;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Suite listener that writes the {@link LatencyReport} once the suite has finished, then judges this run
+ * against the {@link LatencyTrendStore} with the {@link LatencyGate} and appends it to the trend.
+ * The trend lives in the workspace ({@code latency.trend.file}, default {@code latency-trend.tsv}) so it
+ * survives {@code mvn clean}; {@code -Dlatency.trend=false} leaves it alone. Builds are identified by
+ * {@code latency.build.id}, default Jenkins' {@code BUILD_NUMBER}. The gate's verdict (PASSED, FLAGGED or FAILED)
+ * is written to {@code latency.gate.file} for the pipeline to mark the build unstable or failed.
+ * Load runs are not functional builds, so they are neither judged nor added to the trend.
+ */
+public class LatencyReportListener implements ISuiteListener {
+
+    private static final Logger log = TestLog.getRunLogger(LatencyReportListener.class);
+
+    @Override
+    public void onFinish(ISuite suite) {
+        LatencyFilter.configured().ifPresent(filter -> {
+            log.info("⏱️ Latency histograms written to {}", LatencyReport.write(filter));
+            if (LoadProfile.configured().isPresent()) {
+                log.info("⏱️ Load run: latency trend and gate left alone");
+            } else if (!"false".equalsIgnoreCase(System.getProperty("latency.trend"))) {
+                trend(filter);
+            }
+        });
+    }
+
+    private static void trend(LatencyFilter filter) {
+        Map<String, LatencyHistogram> histograms = filter.histograms();
+        LatencyTrendStore store = new LatencyTrendStore(Paths.get(System.getProperty("latency.trend.file", "latency-trend.tsv")));
+        String target = System.getProperty("api.target", "live");
+        LatencyGate gate = new LatencyGate();
+
+        List<LatencyGate.Verdict> verdicts = List.of();
+        if (gate.mode != LatencyGate.Mode.OFF) {
+            long start = System.nanoTime();
+            verdicts = gate.evaluate(histograms, store.baseline(target, gate.baselineBuilds, gate.minCount));
+            long regressions = verdicts.stream().filter(verdict -> verdict.regression).count();
+            log.info("🚦 Latency gate: {} endpoints judged against up to {} builds in {} ms, {} p95 regressions",
+                    verdicts.size(), gate.baselineBuilds, TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start),
+                    regressions);
+            LatencyGate.describe(verdicts).forEach(line -> log.info("   {}", line));
+            report(gate, verdicts, regressions);
+        }
+
+        String build = System.getProperty("latency.build.id",
+                System.getenv().getOrDefault("BUILD_NUMBER", String.valueOf(System.currentTimeMillis())));
+        store.append(build, target, histograms);
+    }
+
+    // Flagged regressions show as broken, gating ones as failed. Failing the suite itself would cost the
+    // surefire report, so the verdict goes to latency.gate.file and the pipeline acts on it
+    private static void report(LatencyGate gate, List<LatencyGate.Verdict> verdicts, long regressions) {
+        Map<String, Object> endpoints = new LinkedHashMap<>();
+        verdicts.forEach(verdict -> endpoints.put(verdict.endpoint, verdict.toMap()));
+        Status status = regressions == 0 ? Status.PASSED
+                : gate.mode == LatencyGate.Mode.FAIL ? Status.FAILED : Status.BROKEN;
+        String message = regressions == 0 ? null : regressions + " endpoint(s) with a significant p95 regression";
+        LatencyReport.attach("Latency gate", "latency-gate", status, message, LatencyReport.toJson(endpoints));
+
+        String verdict = status == Status.PASSED ? "PASSED" : status == Status.FAILED ? "FAILED" : "FLAGGED";
+        List<String> lines = new ArrayList<>();
+        lines.add(verdict + (message == null ? "" : ": " + message));
+        lines.addAll(LatencyGate.describe(verdicts));
+        Path file = Paths.get(System.getProperty("latency.gate.file", "target/latency/latency-gate.txt"));
+        try {
+            Files.createDirectories(file.toAbsolutePath().getParent());
+            Files.write(file, lines);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not write latency gate verdict " + file, e);
+        }
+    }
+}
@@ -0,0 +1,150 @@
+package com.emmanuelarhu.latency;
+
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Append-only history of per-endpoint latency summaries, one tab-separated line per build and endpoint:
+ * build, epoch millis, target, endpoint, count, p50, p95, p99 and max in microseconds. Runs against different
+ * targets ({@code api.target}) never share a baseline.
+ *
+ * A build's lines are appended in one write, so an interrupted run leaves at most a partial last line,
+ * which readers skip. The baseline is read backwards from the end of the file and reading stops after the
+ * last {@code builds} builds, so it costs the same with ten builds of history as with ten thousand.
+ */
+final class LatencyTrendStore {
+
+    private static final int BLOCK_SIZE = 64 * 1024;
+
+    private final Path file;
+
+    LatencyTrendStore(Path file) {
+        this.file = file;
+    }
+
+    Path file() {
+        return file;
+    }
+
+    /**
+     * Append this build's summaries
+     * @param build Build identifier
+     * @param target Target the build ran against
+     * @param histograms Histogram per endpoint
+     */
+    void append(String build, String target, Map<String, LatencyHistogram> histograms) {
+        StringBuilder lines = new StringBuilder();
+        long now = System.currentTimeMillis();
+        histograms.forEach((endpoint, histogram) -> {
+            if (histogram.count() > 0) {
+                lines.append(clean(build)).append('\t').append(now).append('\t').append(clean(target)).append('\t')
+                        .append(clean(endpoint)).append('\t').append(histogram.count()).append('\t')
+                        .append(histogram.percentileMicros(50)).append('\t').append(histogram.percentileMicros(95))
+                        .append('\t').append(histogram.percentileMicros(99)).append('\t').append(histogram.maxMicros())
+                        .append('\n');
+            }
+        });
+        try {
+            if (file.toAbsolutePath().getParent() != null) {
+                Files.createDirectories(file.toAbsolutePath().getParent());
+            }
+            if (!endsWithNewline()) {
+                lines.insert(0, '\n'); // Close a partial line left by an interrupted run
+            }
+            Files.write(file, lines.toString().getBytes(StandardCharsets.UTF_8),
+                    StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not append to latency trend " + file, e);
+        }
+    }
+
+    /**
+     * p95 of each endpoint over the most recent builds against {@code target}, newest first
+     * @param target Target the current build runs against
+     * @param builds How many previous builds to read at most
+     * @param minCount Ignore endpoint summaries built from fewer requests than this
+     * @return endpoint to p95 values in microseconds
+     */
+    Map<String, List<Long>> baseline(String target, int builds, long minCount) {
+        Map<String, List<Long>> baseline = new HashMap<>();
+        if (!Files.exists(file)) {
+            return baseline;
+        }
+        Set<String> seen = new LinkedHashSet<>();
+        try (RandomAccessFile in = new RandomAccessFile(file.toFile(), "r")) {
+            long position = in.length();
+            byte[] carry = new byte[0];
+            while (position > 0) {
+                int size = (int) Math.min(BLOCK_SIZE, position);
+                position -= size;
+                byte[] block = new byte[size + carry.length];
+                in.seek(position);
+                in.readFully(block, 0, size);
+                System.arraycopy(carry, 0, block, size, carry.length);
+
+                // Every complete line in the block, last to first; the head may continue in the previous block
+                int end = block.length;
+                for (int i = block.length - 1; i >= 0; i--) {
+                    if (block[i] == '\n') {
+                        if (!accept(new String(block, i + 1, end - i - 1, StandardCharsets.UTF_8), target, builds,
+                                minCount, seen, baseline)) {
+                            return baseline;
+                        }
+                        end = i;
+                    }
+                }
+                carry = Arrays.copyOf(block, end);
+            }
+            accept(new String(carry, StandardCharsets.UTF_8), target, builds, minCount, seen, baseline);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not read latency trend " + file, e);
+        }
+        return baseline;
+    }
+
+    private boolean endsWithNewline() throws IOException {
+        if (!Files.exists(file) || Files.size(file) == 0) {
+            return true;
+        }
+        try (RandomAccessFile in = new RandomAccessFile(file.toFile(), "r")) {
+            in.seek(in.length() - 1);
+            return in.read() == '\n';
+        }
+    }
+
+    // false once the line belongs to a build older than the window
+    private static boolean accept(String line, String target, int builds, long minCount, Set<String> seen,
+                                  Map<String, List<Long>> baseline) {
+        String[] fields = line.split("\t");
+        if (fields.length != 9 || !fields[2].equals(target)) {
+            return true; // Blank, partial or another target
+        }
+        if (seen.add(fields[0]) && seen.size() > builds) {
+            return false;
+        }
+        try {
+            if (Long.parseLong(fields[4]) >= minCount) {
+                baseline.computeIfAbsent(fields[3], endpoint -> new ArrayList<>()).add(Long.parseLong(fields[6]));
+            }
+        } catch (NumberFormatException e) {
+            // Partial line
+        }
+        return true;
+    }
+
+    private static String clean(String value) {
+        return value.replace('\t', ' ').replace('\n', ' ');
+    }
+}
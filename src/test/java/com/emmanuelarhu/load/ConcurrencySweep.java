@@ -0,0 +1,140 @@
+package com.emmanuelarhu.load;
+
+import com.emmanuelarhu.base.ExecutionMode;
+import com.emmanuelarhu.latency.LatencyHistogram;
+import com.emmanuelarhu.reporting.TestLog;
+import io.restassured.RestAssured;
+import io.restassured.filter.Filter;
+import org.slf4j.Logger;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Closed-model concurrency sweep: 1, 2, 4 … {@code load.sweep.users} users, each step running for
+ * {@code load.sweep.step.seconds}. Every user sends its next invocation as soon as the previous one completed,
+ * so throughput grows with the users until the client or the server saturates, after which extra users only
+ * queue and latency climbs. Each step records into its own {@link LoadRecorder}.
+ *
+ * The knee is the last step before throughput stops growing (less than {@code load.sweep.plateau.percent}
+ * over the previous step) while p95 latency jumps (more than {@code load.sweep.latency.rise.percent}): beyond
+ * it, added concurrency buys latency rather than throughput. Users run on the test worker thread factory
+ * (virtual threads with {@code test.parallel=virtual}).
+ */
+final class ConcurrencySweep {
+
+    private static final Logger log = TestLog.getRunLogger(ConcurrencySweep.class);
+
+    private final LoadProfile profile;
+    private final LoadPlan plan;
+    private final AtomicInteger failureLogsLeft;
+    private final AtomicLong next = new AtomicLong();
+    final List<Step> steps = new ArrayList<>();
+
+    ConcurrencySweep(LoadProfile profile, LoadPlan plan) {
+        this.profile = profile;
+        this.plan = plan;
+        this.failureLogsLeft = new AtomicInteger(profile.failureLogs);
+    }
+
+    /**
+     * Run every step in turn
+     */
+    void run() throws InterruptedException {
+        for (int users = 1; ; users = Math.min(users * 2, profile.sweepUsers)) {
+            Step step = new Step(users, new Outcomes(failureLogsLeft));
+            steps.add(step);
+            RestAssured.filters(step.recorder);
+            try {
+                runStep(step);
+            } finally {
+                List<Filter> filters = new ArrayList<>(RestAssured.filters());
+                filters.remove(step.recorder);
+                RestAssured.replaceFiltersWith(filters);
+            }
+            LatencyHistogram latency = step.latency();
+            log.info("🚚 Sweep {} users: {} req/s, p50={} p95={} p99={} ms, {} failed invocations", users,
+                    String.format(Locale.ROOT, "%.1f", step.throughput()), LoadReport.millis(latency.percentileMicros(50)),
+                    LoadReport.millis(latency.percentileMicros(95)), LoadReport.millis(latency.percentileMicros(99)),
+                    step.outcomes.failed.sum());
+            if (users == profile.sweepUsers) {
+                return;
+            }
+        }
+    }
+
+    private void runStep(Step step) throws InterruptedException {
+        ThreadFactory threads = ExecutionMode.current().threadFactory();
+        long start = System.nanoTime();
+        long deadline = start + TimeUnit.SECONDS.toNanos(profile.sweepStepSeconds);
+        List<Thread> users = new ArrayList<>();
+        for (int i = 0; i < step.users; i++) {
+            Thread user = threads.newThread(() -> {
+                while (System.nanoTime() - deadline < 0 && !Thread.currentThread().isInterrupted()) {
+                    step.outcomes.run(plan.get(next.getAndIncrement()));
+                }
+            });
+            users.add(user);
+            user.start();
+        }
+        long drainDeadline = deadline + TimeUnit.SECONDS.toNanos(profile.drainSeconds);
+        for (Thread user : users) {
+            user.join(Math.max(1L, TimeUnit.NANOSECONDS.toMillis(drainDeadline - System.nanoTime())));
+        }
+        long stuck = users.stream().filter(Thread::isAlive).count();
+        if (stuck > 0) {
+            log.warn("⚠️ Sweep: {} users still busy {} s after the step ended, abandoned", stuck, profile.drainSeconds);
+            users.forEach(Thread::interrupt);
+        }
+        step.elapsedNanos = System.nanoTime() - start;
+    }
+
+    /**
+     * @return index in {@link #steps} of the knee, or -1 if throughput never plateaued with a latency jump
+     */
+    int knee() {
+        for (int i = 1; i < steps.size(); i++) {
+            Step previous = steps.get(i - 1);
+            Step step = steps.get(i);
+            double gain = previous.throughput() == 0 ? 0 : step.throughput() / previous.throughput() - 1;
+            long previousP95 = Math.max(1L, previous.latency().percentileMicros(95));
+            double rise = step.latency().percentileMicros(95) / (double) previousP95 - 1;
+            if (gain * 100 < profile.sweepPlateauPercent && rise * 100 > profile.sweepLatencyRisePercent) {
+                return i - 1;
+            }
+        }
+        return -1;
+    }
+
+    /** One concurrency level of the sweep */
+    static final class Step {
+        final int users;
+        final LoadRecorder recorder = new LoadRecorder();
+        final Outcomes outcomes;
+        long elapsedNanos;
+
+        Step(int users, Outcomes outcomes) {
+            this.users = users;
+            this.outcomes = outcomes;
+        }
+
+        /**
+         * @return requests per second over the step, including those finished after it ended
+         */
+        double throughput() {
+            return elapsedNanos <= 0 ? 0.0 : recorder.requests() / (elapsedNanos / (double) TimeUnit.SECONDS.toNanos(1));
+        }
+
+        /**
+         * @return latency of the step's requests; with no schedule to fall behind, this is the service time
+         */
+        LatencyHistogram latency() {
+            return recorder.latency.uncorrected;
+        }
+    }
+}
@@ -0,0 +1,240 @@
+package com.emmanuelarhu.load;
+
+import com.emmanuelarhu.latency.LatencyHistogram;
+import com.emmanuelarhu.reporting.TestLog;
+import org.slf4j.Logger;
+
+import java.io.ByteArrayInputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.lang.management.ManagementFactory;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.net.SocketTimeoutException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Spreads an open-model run over {@code load.workers} JVMs on this host, for rates one JVM cannot drive.
+ * The coordinator forks the workers ({@link LoadWorker}) with the run's settings and the coordinator's base
+ * URL, so they also hit the in-process stub; it sends no load itself. Each worker warms up and connects
+ * back over a loopback socket; once all are ready, they are given a common start time a moment ahead, and
+ * each sends its slot of the schedule. At the end every worker streams its histograms back and the coordinator
+ * adds them up bucket by bucket, so the merged percentiles are the ones a single recorder would have given.
+ *
+ * The report adds each worker's share and how far the workers drifted apart (start skew, throughput and
+ * p99 spread), and what coordinating cost: time to get the workers ready, bytes received, merge time and
+ * the coordinator's CPU time. Worker output goes to {@code target/load/workers/worker-<id>.log}.
+ */
+final class LoadCoordinator {
+
+    private static final Logger log = TestLog.getRunLogger(LoadCoordinator.class);
+    private static final long START_DELAY_MILLIS = 1000L;
+    private static final String[] FORWARDED_PREFIXES = {"api.", "http.", "load.", "log.", "report.", "scenario.", "stub.", "test."};
+    private static final Path WORKER_DIR = Paths.get("target", "load", "workers");
+
+    private final LoadProfile profile;
+    private final LoadPlan plan;
+    final OpenModelLoad load;
+    final LoadRecorder recorder = new LoadRecorder();
+    private final List<Map<String, Object>> workers = new ArrayList<>();
+    private final Map<String, Object> overhead = new LinkedHashMap<>();
+
+    LoadCoordinator(LoadProfile profile, LoadPlan plan) {
+        this.profile = profile;
+        this.plan = plan;
+        this.load = new OpenModelLoad(profile, plan);
+    }
+
+    /**
+     * Fork the workers, start them together and merge what they send back
+     * @param baseUrl Target the workers send to
+     * @param classNames Test classes the workers load
+     */
+    void run(String baseUrl, Set<String> classNames) throws InterruptedException {
+        List<Process> processes = new ArrayList<>();
+        try (ServerSocket server = new ServerSocket(0, profile.workers, InetAddress.getLoopbackAddress())) {
+            Files.createDirectories(WORKER_DIR);
+            long forkStart = System.nanoTime();
+            for (int id = 0; id < profile.workers; id++) {
+                processes.add(fork(id, server.getLocalPort(), baseUrl, classNames));
+            }
+
+            Socket[] sockets = new Socket[profile.workers];
+            server.setSoTimeout((int) TimeUnit.SECONDS.toMillis(profile.workerStartSeconds));
+            for (int ready = 0; ready < profile.workers; ready++) {
+                Socket socket = accept(server, ready);
+                int id = new DataInputStream(socket.getInputStream()).readInt();
+                if (id < 0 || id >= sockets.length || sockets[id] != null) {
+                    throw new IOException("Unexpected load worker id " + id);
+                }
+                sockets[id] = socket;
+            }
+            long readyMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - forkStart);
+            log.info("🚚 {} load workers ready in {} ms, starting in {} ms", profile.workers, readyMillis,
+                    START_DELAY_MILLIS);
+
+            long threadCpu = ManagementFactory.getThreadMXBean().getCurrentThreadCpuTime();
+            long processCpu = LoadWorker.cpuNanos();
+            long startAt = System.currentTimeMillis() + START_DELAY_MILLIS;
+            for (Socket socket : sockets) {
+                DataOutputStream out = new DataOutputStream(socket.getOutputStream());
+                out.writeLong(startAt);
+                out.flush();
+            }
+
+            long bytes = 0;
+            long mergeNanos = 0;
+            int readTimeoutMillis = (int) TimeUnit.SECONDS.toMillis(profile.durationSeconds + profile.drainSeconds + 60L);
+            for (int id = 0; id < sockets.length; id++) {
+                try (Socket socket = sockets[id]) {
+                    socket.setSoTimeout(readTimeoutMillis);
+                    DataInputStream in = new DataInputStream(socket.getInputStream());
+                    byte[] results = new byte[in.readInt()];
+                    in.readFully(results);
+                    bytes += results.length;
+                    long mergeStart = System.nanoTime();
+                    merge(id, new DataInputStream(new ByteArrayInputStream(results)));
+                    mergeNanos += System.nanoTime() - mergeStart;
+                }
+            }
+
+            overhead.put("workersReadyMs", readyMillis);
+            overhead.put("resultBytes", bytes);
+            overhead.put("mergeMs", LoadReport.millis(TimeUnit.NANOSECONDS.toMicros(mergeNanos)));
+            overhead.put("threadCpuMs",
+                    TimeUnit.NANOSECONDS.toMillis(ManagementFactory.getThreadMXBean().getCurrentThreadCpuTime() - threadCpu));
+            // Includes the in-process stub when the workers target it
+            overhead.put("processCpuMs", processCpu < 0 ? null
+                    : TimeUnit.NANOSECONDS.toMillis(LoadWorker.cpuNanos() - processCpu));
+        } catch (IOException e) {
+            processes.forEach(Process::destroyForcibly);
+            throw new UncheckedIOException("Multi-process load failed; see the worker logs in " + WORKER_DIR, e);
+        } finally {
+            for (Process process : processes) {
+                if (!process.waitFor(30L, TimeUnit.SECONDS)) {
+                    process.destroyForcibly();
+                }
+            }
+        }
+    }
+
+    private Process fork(int id, int port, String baseUrl, Set<String> classNames) throws IOException {
+        List<String> command = new ArrayList<>();
+        command.add(ProcessHandle.current().info().command()
+                .orElse(Paths.get(System.getProperty("java.home"), "bin", "java").toString()));
+        command.add("-cp");
+        command.add(System.getProperty("surefire.test.class.path", System.getProperty("java.class.path")));
+        new TreeMap<>(System.getProperties()).forEach((key, value) -> {
+            for (String prefix : FORWARDED_PREFIXES) {
+                if (key.toString().startsWith(prefix) && !"api.target".equals(key)) {
+                    command.add("-D" + key + "=" + value);
+                    break;
+                }
+            }
+        });
+        command.add("-Dapi.target=" + baseUrl);
+        command.add("-Dload.worker.id=" + id);
+        command.add("-Dload.worker.port=" + port);
+        command.add("-Dload.worker.classes=" + String.join(",", classNames));
+        command.add("-Dload.worker.output=" + WORKER_DIR.resolve("worker-" + id));
+        command.add("-Dlatency.histograms=false");
+        command.add("-Dallure.results.directory=" + WORKER_DIR.resolve("worker-" + id).resolve("allure-results"));
+        command.add(LoadWorker.class.getName());
+        File log = WORKER_DIR.resolve("worker-" + id + ".log").toFile();
+        return new ProcessBuilder(command).redirectErrorStream(true).redirectOutput(log).start();
+    }
+
+    private Socket accept(ServerSocket server, int ready) throws IOException {
+        try {
+            return server.accept();
+        } catch (SocketTimeoutException e) {
+            throw new IOException(ready + " of " + profile.workers + " load workers ready after "
+                    + profile.workerStartSeconds + " s", e);
+        }
+    }
+
+    private void merge(int id, DataInputStream in) throws IOException {
+        long pid = in.readLong();
+        long cpuNanos = in.readLong();
+        OpenModelLoad workerLoad = OpenModelLoad.readFrom(in, profile, plan);
+        LoadRecorder workerRecorder = LoadRecorder.readFrom(in);
+        load.add(workerLoad);
+        recorder.add(workerRecorder);
+
+        double seconds = workerLoad.elapsedNanos() / (double) TimeUnit.SECONDS.toNanos(1);
+        LatencyHistogram latency = workerRecorder.latency.corrected;
+        Map<String, Object> worker = new LinkedHashMap<>();
+        worker.put("id", id);
+        worker.put("pid", pid);
+        worker.put("startSkewMs", LoadReport.millis(TimeUnit.NANOSECONDS.toMicros(workerLoad.startSkewNanos())));
+        worker.put("arrivals", workerLoad.arrivals());
+        worker.put("dropped", workerLoad.dropped.sum());
+        worker.put("requests", workerRecorder.requests());
+        worker.put("throughputPerSecond", LoadReport.round(seconds <= 0 ? 0.0 : workerRecorder.requests() / seconds));
+        worker.put("latencyP50Ms", LoadReport.millis(latency.percentileMicros(50)));
+        worker.put("latencyP99Ms", LoadReport.millis(latency.percentileMicros(99)));
+        worker.put("startLagP99Ms", LoadReport.millis(workerLoad.startLag.percentileMicros(99)));
+        worker.put("cpuMs", cpuNanos < 0 ? null : TimeUnit.NANOSECONDS.toMillis(cpuNanos));
+        workers.add(worker);
+        log.info("🚚 Worker {}: {} requests, {} req/s, p99={} ms", id, workerRecorder.requests(),
+                worker.get("throughputPerSecond"), worker.get("latencyP99Ms"));
+    }
+
+    /**
+     * @return each worker's share of the run
+     */
+    List<Map<String, Object>> workers() {
+        return workers;
+    }
+
+    /**
+     * @return how far the workers drifted apart: the spread of their start skew, throughput and p99
+     */
+    Map<String, Object> skew() {
+        Map<String, Object> skew = new LinkedHashMap<>();
+        skew.put("startSkewSpreadMs", spread("startSkewMs"));
+        double[] throughput = values("throughputPerSecond");
+        double mean = Arrays.stream(throughput).average().orElse(0);
+        skew.put("throughputSpreadPercent", LoadReport.round(mean == 0 ? 0.0 : 100 * (max(throughput) - min(throughput)) / mean));
+        skew.put("latencyP99SpreadMs", spread("latencyP99Ms"));
+        return skew;
+    }
+
+    /**
+     * @return what coordinating the workers cost
+     */
+    Map<String, Object> overhead() {
+        return overhead;
+    }
+
+    private Object spread(String key) {
+        double[] values = values(key);
+        return LoadReport.round(values.length == 0 ? 0.0 : max(values) - min(values));
+    }
+
+    private double[] values(String key) {
+        return workers.stream().mapToDouble(worker -> ((Number) worker.get(key)).doubleValue()).toArray();
+    }
+
+    private static double max(double[] values) {
+        return Arrays.stream(values).max().orElse(0);
+    }
+
+    private static double min(double[] values) {
+        return Arrays.stream(values).min().orElse(0);
+    }
+}
@@ -0,0 +1,184 @@
+package com.emmanuelarhu.load;
+
+import com.emmanuelarhu.base.CurrentTest;
+import com.emmanuelarhu.base.RunReport;
+import com.emmanuelarhu.base.SuiteContext;
+import com.emmanuelarhu.latency.LatencyReport;
+import com.emmanuelarhu.reporting.TestLog;
+import com.emmanuelarhu.scenario.ScenarioMetrics;
+import io.qameta.allure.model.Status;
+import io.restassured.RestAssured;
+import org.slf4j.Logger;
+import org.testng.IMethodInstance;
+import org.testng.IMethodInterceptor;
+import org.testng.ISuite;
+import org.testng.ISuiteListener;
+import org.testng.ITestContext;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Runs the suite as load when {@code load.rate} or {@code load.sweep.users} is set (see {@link LoadProfile}):
+ * when the suite starts, the selected test methods are driven as {@link OpenModelLoad} or a
+ * {@link ConcurrencySweep} through the same specs, filters and target as a normal run, and the tests are then left out of the suite so each runs only as load. The first
+ * {@code load.warmup.invocations} are sent once, sequentially and unmeasured, before the schedule starts.
+ * A soak ({@code load.soak.hours}) also samples the client's resources throughout, and its trends are attached
+ * to the Allure report on a "Soak resource trends" entry in the "Run metrics" suite, broken if any resource
+ * kept growing. With {@code load.workers} above 1 this process only coordinates, see {@link LoadCoordinator}.
+ * Works against the stub ({@code -Dapi.target=stub}) or any base URL ({@code -Dapi.target=https://...}).
+ */
+public class LoadListener implements ISuiteListener, IMethodInterceptor {
+
+    private static final Logger log = TestLog.getRunLogger(LoadListener.class);
+
+    @Override
+    public void onStart(ISuite suite) {
+        LoadProfile.configured().ifPresent(profile -> {
+            // Caches and revalidation would answer the load's repeated requests without reaching the target
+            CurrentTest.loadRun(true);
+            try {
+                run(suite, profile);
+            } finally {
+                CurrentTest.loadRun(false);
+            }
+        });
+    }
+
+    @Override
+    public List<IMethodInstance> intercept(List<IMethodInstance> methods, ITestContext context) {
+        return LoadProfile.configured().isPresent() ? new ArrayList<>() : methods;
+    }
+
+    private static void run(ISuite suite, LoadProfile profile) {
+        SuiteContext context = SuiteContext.get();
+        LoadPlan plan = LoadPlan.of(suite, profile);
+        if (profile.workers > 1 && profile.workerPort == 0) {
+            coordinate(suite, context, profile, plan);
+            return;
+        }
+
+        // The first requests pay for REST Assured's and the JIT's warm-up; keep that out of the measurements
+        long warmupStart = System.nanoTime();
+        ScenarioMetrics.warmingUp(true);
+        try {
+            for (int i = 0; i < profile.warmupInvocations; i++) {
+                plan.get(i).run();
+            }
+        } finally {
+            ScenarioMetrics.warmingUp(false);
+        }
+        if (profile.warmupInvocations > 0) {
+            log.info("🚚 Warm-up: {} invocations in {} ms", profile.warmupInvocations,
+                    TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - warmupStart));
+        }
+
+        if (profile.sweep) {
+            sweep(context, profile, plan);
+            return;
+        }
+        LoadRecorder recorder = new LoadRecorder();
+        RestAssured.filters(recorder);
+        log.info("🚚 Open-model load: {} arrivals/s for {} s against {}, cycling through {} invocations"
+                        + " of {} test methods", profile.rate, profile.durationSeconds, context.baseUrl(), plan.size(),
+                plan.methods());
+
+        OpenModelLoad load = new OpenModelLoad(profile, plan);
+        ResourceSampler sampler = profile.soak ? new ResourceSampler(profile, recorder::requests) : null;
+        try {
+            if (profile.workerPort > 0) {
+                LoadWorker worker = LoadWorker.connect(profile);
+                load.run(worker.awaitStart());
+                worker.send(load, recorder);
+                log.info("🚚 Load worker {} finished, results sent", profile.workerId);
+                return;
+            }
+            if (sampler != null) {
+                sampler.start();
+            }
+            load.run(System.nanoTime());
+            if (sampler != null) {
+                sampler.stop();
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Load worker " + profile.workerId + " lost its coordinator", e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            log.warn("⚠️ Load run interrupted");
+        }
+
+        Map<String, Object> summary = LoadReport.summary(context.baseUrl(), profile, plan, load, recorder);
+        if (sampler != null) {
+            soak(summary, sampler.summary());
+        }
+        report(summary, profile);
+    }
+
+    @SuppressWarnings("unchecked")
+    private static void soak(Map<String, Object> summary, Map<String, Object> soak) {
+        summary.put("soak", soak);
+        List<String> growing = (List<String>) soak.get("growing");
+        String message = growing.isEmpty() ? null : "Growing over the soak: " + String.join(", ", growing);
+        if (message == null) {
+            log.info("🧪 Soak: no resource kept growing");
+        } else {
+            log.warn("⚠️ Soak: {}", message);
+        }
+        LatencyReport.attach("Soak resource trends", "soak-resources", growing.isEmpty() ? Status.PASSED : Status.BROKEN,
+                message, LatencyReport.toJson(soak));
+    }
+
+    private static void coordinate(ISuite suite, SuiteContext context, LoadProfile profile, LoadPlan plan) {
+        Set<String> classNames = new TreeSet<>();
+        suite.getAllMethods().forEach(method -> classNames.add(method.getRealClass().getName()));
+        log.info("🚚 Open-model load over {} worker processes: {} arrivals/s for {} s against {}, cycling through"
+                        + " {} invocations of {} test methods", profile.workers, profile.rate, profile.durationSeconds,
+                context.baseUrl(), plan.size(), plan.methods());
+        LoadCoordinator coordinator = new LoadCoordinator(profile, plan);
+        try {
+            coordinator.run(context.baseUrl(), classNames);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            log.warn("⚠️ Load run interrupted");
+        }
+        Map<String, Object> summary = LoadReport.summary(context.baseUrl(), profile, plan, coordinator.load,
+                coordinator.recorder);
+        summary.put("workers", coordinator.workers());
+        summary.put("skew", coordinator.skew());
+        summary.put("coordinator", coordinator.overhead());
+        report(summary, profile);
+    }
+
+    private static void sweep(SuiteContext context, LoadProfile profile, LoadPlan plan) {
+        log.info("🚚 Closed-model sweep: 1 to {} users, {} s per step, against {}, cycling through {}"
+                        + " invocations of {} test methods", profile.sweepUsers, profile.sweepStepSeconds, context.baseUrl(),
+                plan.size(), plan.methods());
+        ConcurrencySweep sweep = new ConcurrencySweep(profile, plan);
+        try {
+            sweep.run();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            log.warn("⚠️ Sweep interrupted");
+        }
+        Map<String, Object> summary = LoadReport.summary(context.baseUrl(), profile, plan, sweep);
+        Object knee = summary.get("knee");
+        if (knee == null) {
+            log.info("🚚 Sweep: no knee up to {} users", profile.sweepUsers);
+        } else {
+            log.info("🚚 Sweep knee: {}, saturated at {} users", knee, summary.get("saturatedAtUsers"));
+        }
+        report(summary, profile);
+    }
+
+    private static void report(Map<String, Object> summary, LoadProfile profile) {
+        LoadReport.write(summary, profile.reportFile);
+        RunReport.register("Load", () -> LoadReport.metrics(summary));
+        log.info("🚚 Load run finished, report written to {}", profile.reportFile);
+    }
+}
@@ -0,0 +1,167 @@
+package com.emmanuelarhu.load;
+
+import org.testng.ISuite;
+import org.testng.ITestNGMethod;
+import org.testng.SkipException;
+import org.testng.annotations.DataProvider;
+import org.testng.annotations.Test;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+/**
+ * The requests a load run sends: every test method of the selected classes, once per data-provider row,
+ * on the instances TestNG created for the suite. Arrivals cycle through the invocations in a fixed shuffled
+ * order, so the load has the same mix of endpoints and payloads as the suite itself and any stretch of the
+ * run sees that mix rather than one class at a time; the same classes give the same order in every run.
+ */
+final class LoadPlan {
+
+    private static final long SHUFFLE_SEED = 42L;
+
+    private final List<Invocation> invocations;
+
+    private LoadPlan(List<Invocation> invocations) {
+        this.invocations = invocations;
+    }
+
+    /**
+     * Collect the invocations of the suite's test methods selected by the profile
+     * @param suite Suite whose methods and test instances to use
+     * @param profile Classes, groups and methods to include
+     * @return plan with at least one invocation
+     */
+    static LoadPlan of(ISuite suite, LoadProfile profile) {
+        // A class listed in several <test> tags appears once per tag
+        Map<Method, ITestNGMethod> methods = new LinkedHashMap<>();
+        for (ITestNGMethod method : suite.getAllMethods()) {
+            String className = method.getRealClass().getSimpleName();
+            if (profile.classes.contains(className)
+                    && (profile.groups.isEmpty() || Arrays.stream(method.getGroups()).anyMatch(profile.groups::contains))
+                    && (profile.methods.isEmpty() || profile.methods.contains(method.getMethodName())
+                        || profile.methods.contains(className + "." + method.getMethodName()))) {
+                methods.putIfAbsent(method.getConstructorOrMethod().getMethod(), method);
+            }
+        }
+        List<ITestNGMethod> ordered = new ArrayList<>(methods.values());
+        ordered.sort(Comparator.comparing((ITestNGMethod method) -> method.getRealClass().getName())
+                .thenComparingInt(ITestNGMethod::getPriority)
+                .thenComparing(ITestNGMethod::getMethodName));
+
+        List<Invocation> invocations = new ArrayList<>();
+        for (ITestNGMethod method : ordered) {
+            Object instance = method.getInstance();
+            Method javaMethod = method.getConstructorOrMethod().getMethod();
+            for (Object[] row : rows(javaMethod, instance)) {
+                invocations.add(new Invocation(method.getRealClass().getSimpleName() + "." + method.getMethodName(),
+                        instance, javaMethod, row));
+            }
+        }
+        Collections.shuffle(invocations, new Random(SHUFFLE_SEED));
+        if (invocations.isEmpty()) {
+            throw new IllegalStateException("No test methods match load.classes " + profile.classes
+                    + (profile.groups.isEmpty() ? "" : " and load.groups " + profile.groups)
+                    + (profile.methods.isEmpty() ? "" : " and load.methods " + profile.methods));
+        }
+        return new LoadPlan(invocations);
+    }
+
+    /**
+     * @param arrival Zero-based arrival number
+     * @return invocation for that arrival, cycling through the plan
+     */
+    Invocation get(long arrival) {
+        return invocations.get((int) (arrival % invocations.size()));
+    }
+
+    /**
+     * @return number of distinct invocations in one cycle
+     */
+    int size() {
+        return invocations.size();
+    }
+
+    /**
+     * @return number of distinct test methods
+     */
+    long methods() {
+        return invocations.stream().map(invocation -> invocation.method).distinct().count();
+    }
+
+    // The data provider's rows, called the way TestNG would: on the test instance or a new provider instance
+    private static List<Object[]> rows(Method method, Object instance) {
+        Test test = method.getAnnotation(Test.class);
+        if (test == null || test.dataProvider().isEmpty()) {
+            return List.<Object[]>of(new Object[0]);
+        }
+        Class<?> providerClass = test.dataProviderClass() == Object.class ? method.getDeclaringClass() : test.dataProviderClass();
+        Method provider = Arrays.stream(providerClass.getMethods())
+                .filter(candidate -> candidate.isAnnotationPresent(DataProvider.class))
+                .filter(candidate -> test.dataProvider().equals(providerName(candidate)))
+                .findFirst()
+                .orElseThrow(() -> new IllegalStateException("No data provider '" + test.dataProvider() + "' in "
+                        + providerClass.getName() + " for " + method.getName()));
+        try {
+            Object target = Modifier.isStatic(provider.getModifiers()) ? null
+                    : providerClass.isInstance(instance) ? instance : providerClass.getDeclaredConstructor().newInstance();
+            Object[] arguments = Arrays.stream(provider.getParameterTypes())
+                    .map(type -> type == Method.class ? method : null)
+                    .toArray();
+            Object data = provider.invoke(target, arguments);
+            List<Object[]> rows = new ArrayList<>();
+            if (data instanceof Object[][]) {
+                rows.addAll(Arrays.asList((Object[][]) data));
+            } else if (data instanceof Iterator) {
+                ((Iterator<?>) data).forEachRemaining(row -> rows.add((Object[]) row));
+            }
+            return rows;
+        } catch (ReflectiveOperationException e) {
+            throw new IllegalStateException("Could not call data provider " + provider.getName(), e);
+        }
+    }
+
+    private static String providerName(Method provider) {
+        String name = provider.getAnnotation(DataProvider.class).name();
+        return name.isEmpty() ? provider.getName() : name;
+    }
+
+    /** One test method call with one data-provider row */
+    static final class Invocation {
+        final String name;
+        private final Object instance;
+        private final Method method;
+        private final Object[] arguments;
+
+        Invocation(String name, Object instance, Method method, Object[] arguments) {
+            this.name = name;
+            this.instance = instance;
+            this.method = method;
+            this.arguments = arguments;
+        }
+
+        /**
+         * Call the test method; assertion failures and exceptions are outcomes, not errors of the run
+         * @return null if the test passed, otherwise what it threw ({@link SkipException} when skipped)
+         */
+        Throwable run() {
+            try {
+                method.invoke(instance, arguments);
+                return null;
+            } catch (InvocationTargetException e) {
+                return e.getCause();
+            } catch (IllegalAccessException e) {
+                throw new IllegalStateException("Could not call " + name, e);
+            }
+        }
+    }
+}
@@ -0,0 +1,91 @@
+package com.emmanuelarhu.load;
+
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Arrays;
+import java.util.LinkedHashSet;
+import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Settings of a load run, read from system properties. Setting {@code load.rate} (arrivals per second) turns
+ * the suite into a load run: instead of running each test once, the test methods of {@code load.classes} are
+ * invoked on a fixed schedule for {@code load.duration.seconds}, each arrival taking the next test invocation
+ * (method and data-provider row) in turn. Setting {@code load.sweep.users} instead runs a closed-model
+ * {@link ConcurrencySweep} up to that many concurrent users. {@code load.soak.hours} makes the run a soak: an
+ * open-model run of that length (at {@code load.rate}, default 10/s) with a {@link ResourceSampler} watching the
+ * client for leaks. {@code load.methods} narrows any of them to chosen test methods, e.g.
+ * {@code CartsApiTest.testCreateCartWithValidData} for {@code POST /carts}. {@code load.workers} spreads an
+ * open-model run over that many worker processes, see {@link LoadCoordinator}.
+ */
+public final class LoadProfile {
+
+    private static final String DEFAULT_CLASSES = "ProductsApiTest,CartsApiTest,UsersApiTest,AuthApiTest";
+
+    private static final LoadProfile CONFIGURED = System.getProperty("load.rate") == null
+            && System.getProperty("load.sweep.users") == null
+            && System.getProperty("load.soak.hours") == null ? null : new LoadProfile();
+
+    /** True for a soak: an open-model run of {@code load.soak.hours} with resource sampling */
+    final boolean soak = System.getProperty("load.soak.hours") != null;
+    final double rate = Double.parseDouble(System.getProperty("load.rate", soak ? "10" : "0"));
+    final long durationSeconds = soak
+            ? Math.round(Double.parseDouble(System.getProperty("load.soak.hours")) * 3600)
+            : Long.getLong("load.duration.seconds", 60L);
+    final int concurrency = Integer.getInteger("load.concurrency", 256);
+    final int maxOutstanding = Integer.getInteger("load.max.outstanding", 10_000);
+    final int warmupInvocations = Integer.getInteger("load.warmup.invocations", 10);
+    final long drainSeconds = Long.getLong("load.drain.seconds", 30L);
+    final long progressSeconds = Long.getLong("load.progress.seconds", soak ? 300L : 10L);
+    final int failureLogs = Integer.getInteger("load.failure.logs", 5);
+    final Set<String> classes = names(System.getProperty("load.classes", DEFAULT_CLASSES));
+    final Set<String> groups = names(System.getProperty("load.groups", ""));
+    final Set<String> methods = names(System.getProperty("load.methods", ""));
+    /** True for a closed-model concurrency sweep, false for an open-model run at {@code load.rate} */
+    final boolean sweep = System.getProperty("load.sweep.users") != null;
+    final int sweepUsers = Integer.getInteger("load.sweep.users", 0);
+    final long sweepStepSeconds = Long.getLong("load.sweep.step.seconds", 30L);
+    final double sweepPlateauPercent = Double.parseDouble(System.getProperty("load.sweep.plateau.percent", "10"));
+    final double sweepLatencyRisePercent = Double.parseDouble(System.getProperty("load.sweep.latency.rise.percent", "50"));
+    final Path reportFile = Paths.get(System.getProperty("load.report.file", "target/load/load-report.json"));
+    final int workers = Integer.getInteger("load.workers", 1);
+    final int workerStartSeconds = Integer.getInteger("load.worker.start.seconds", 120);
+    /** Set in worker processes only: this worker's slot in the schedule and where its coordinator listens */
+    final int workerId = Integer.getInteger("load.worker.id", 0);
+    final int workerPort = Integer.getInteger("load.worker.port", 0);
+    final long soakSampleSeconds = Long.getLong("load.soak.sample.seconds", 60L);
+    final long soakSettleSeconds = Long.getLong("load.soak.settle.seconds", 300L);
+    final double soakTrendZ = Double.parseDouble(System.getProperty("load.soak.trend.z", "2.33"));
+    final double soakMinGrowthPercent = Double.parseDouble(System.getProperty("load.soak.min.growth.percent", "10"));
+    final Path soakFile = Paths.get(System.getProperty("load.soak.file", "target/load/soak-samples.tsv"));
+
+    private LoadProfile() {
+        if (sweep) {
+            if (rate != 0 || soak || workers != 1 || sweepUsers <= 0 || sweepStepSeconds <= 0) {
+                throw new IllegalArgumentException("load.sweep.users and load.sweep.step.seconds must be positive and"
+                        + " load.rate, load.soak.hours and load.workers unset for a sweep, got " + sweepUsers + ", "
+                        + sweepStepSeconds + " and " + rate);
+            }
+        } else if (workers < 1 || workers > 1 && soak || workerId < 0 || workerId >= workers) {
+            throw new IllegalArgumentException("load.workers must be at least 1, and 1 for a soak, got " + workers);
+        } else if (!(rate > 0) || durationSeconds <= 0) {
+            throw new IllegalArgumentException("load.rate and load.duration.seconds (or load.soak.hours) must be positive,"
+                    + " got " + rate + " and " + durationSeconds);
+        }
+    }
+
+    /**
+     * @return the load settings when {@code load.rate} is set, so this run is a load run
+     */
+    public static Optional<LoadProfile> configured() {
+        return Optional.ofNullable(CONFIGURED);
+    }
+
+    private static Set<String> names(String value) {
+        return Arrays.stream(value.split(","))
+                .map(String::trim)
+                .filter(name -> !name.isEmpty())
+                .collect(Collectors.toCollection(LinkedHashSet::new));
+    }
+}
@@ -0,0 +1,184 @@
+package com.emmanuelarhu.load;
+
+import com.emmanuelarhu.base.FilterOrder;
+import com.emmanuelarhu.base.HttpMessages;
+import com.emmanuelarhu.base.RequestPhases;
+import com.emmanuelarhu.latency.LatencyHistogram;
+import io.restassured.filter.FilterContext;
+import io.restassured.filter.OrderedFilter;
+import io.restassured.response.Response;
+import io.restassured.specification.FilterableRequestSpecification;
+import io.restassured.specification.FilterableResponseSpecification;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Records every request of a load run: latency overall and per endpoint template, and responses by status
+ * class. Requests that fail without a response are counted as errors and not timed.
+ *
+ * Latency is kept twice. The uncorrected histograms time each request from when it was actually sent, which
+ * is the service time. The corrected ones time it from when it was scheduled to be sent, so when the client
+ * falls behind, the wait for a worker counts as latency the way a user on that schedule would have seen it
+ * rather than being silently left out (coordinated omission). Only the first request of an arrival has a
+ * scheduled time; the requests a test sends after it follow on from the previous response, as they would
+ * for a real client, so for them both figures are the same.
+ */
+final class LoadRecorder implements OrderedFilter {
+
+    /** Status classes 1xx to 5xx; anything else is counted as "other" */
+    static final String[] STATUS_CLASSES = {"other", "1xx", "2xx", "3xx", "4xx", "5xx"};
+
+    final Latency latency = new Latency();
+    final LongAdder errors = new LongAdder();
+    private final LongAdder[] statusClasses = new LongAdder[STATUS_CLASSES.length];
+    private final Map<String, Latency> endpoints = new ConcurrentHashMap<>();
+
+    LoadRecorder() {
+        for (int i = 0; i < statusClasses.length; i++) {
+            statusClasses[i] = new LongAdder();
+        }
+    }
+
+    @Override
+    public Response filter(FilterableRequestSpecification requestSpec, FilterableResponseSpecification responseSpec,
+                           FilterContext ctx) {
+        long start = System.nanoTime();
+        // Read, not taken: the request phases opened further in take it and report the wait as the queue phase
+        long intended = Math.min(start, RequestPhases.scheduled(start));
+        Response response;
+        try {
+            response = ctx.next(requestSpec, responseSpec);
+        } catch (Exception e) { // Groovy internals can rethrow a checked IOException unwrapped
+            errors.increment();
+            throw e;
+        }
+        long end = System.nanoTime();
+        latency.record(start, intended, end);
+        endpoints.computeIfAbsent(HttpMessages.endpoint(requestSpec.getMethod(), requestSpec.getUserDefinedPath()),
+                endpoint -> new Latency()).record(start, intended, end);
+        int statusClass = response.getStatusCode() / 100;
+        statusClasses[statusClass >= 1 && statusClass <= 5 ? statusClass : 0].increment();
+        return response;
+    }
+
+    @Override
+    public int getOrder() {
+        return FilterOrder.LOAD;
+    }
+
+    /**
+     * @return requests that got a response plus those that failed without one
+     */
+    long requests() {
+        return latency.uncorrected.count() + errors.sum();
+    }
+
+    /**
+     * @return responses per status class, in {@link #STATUS_CLASSES} order
+     */
+    long[] statusClasses() {
+        long[] counts = new long[statusClasses.length];
+        for (int i = 0; i < counts.length; i++) {
+            counts[i] = statusClasses[i].sum();
+        }
+        return counts;
+    }
+
+    /**
+     * @return latency per endpoint template, sorted by endpoint
+     */
+    Map<String, Latency> endpoints() {
+        return new TreeMap<>(endpoints);
+    }
+
+    /**
+     * Write everything recorded, for a coordinator to merge
+     * @param out Stream to write to
+     * @throws IOException if the stream fails
+     */
+    void writeTo(DataOutput out) throws IOException {
+        latency.writeTo(out);
+        out.writeLong(errors.sum());
+        for (LongAdder statusClass : statusClasses) {
+            out.writeLong(statusClass.sum());
+        }
+        Map<String, Latency> sorted = endpoints();
+        out.writeInt(sorted.size());
+        for (Map.Entry<String, Latency> endpoint : sorted.entrySet()) {
+            out.writeUTF(endpoint.getKey());
+            endpoint.getValue().writeTo(out);
+        }
+    }
+
+    /**
+     * @param in Stream holding a recorder written by {@link #writeTo}
+     * @return recorder with the same recordings, not installed as a filter
+     * @throws IOException if the stream fails
+     */
+    static LoadRecorder readFrom(DataInput in) throws IOException {
+        LoadRecorder recorder = new LoadRecorder();
+        recorder.latency.add(Latency.readFrom(in));
+        recorder.errors.add(in.readLong());
+        for (LongAdder statusClass : recorder.statusClasses) {
+            statusClass.add(in.readLong());
+        }
+        for (int n = in.readInt(); n > 0; n--) {
+            recorder.endpoints.put(in.readUTF(), Latency.readFrom(in));
+        }
+        return recorder;
+    }
+
+    /**
+     * Add everything {@code other} recorded to this recorder
+     * @param other Recorder to merge in
+     */
+    void add(LoadRecorder other) {
+        latency.add(other.latency);
+        errors.add(other.errors.sum());
+        for (int i = 0; i < statusClasses.length; i++) {
+            statusClasses[i].add(other.statusClasses[i].sum());
+        }
+        other.endpoints.forEach((name, latency) -> endpoints.computeIfAbsent(name, key -> new Latency()).add(latency));
+    }
+
+    /** Latency of a set of requests, from the actual and from the scheduled send time */
+    static final class Latency {
+        final LatencyHistogram uncorrected;
+        final LatencyHistogram corrected;
+
+        Latency() {
+            this(new LatencyHistogram(), new LatencyHistogram());
+        }
+
+        private Latency(LatencyHistogram uncorrected, LatencyHistogram corrected) {
+            this.uncorrected = uncorrected;
+            this.corrected = corrected;
+        }
+
+        void record(long start, long intended, long end) {
+            uncorrected.record(TimeUnit.NANOSECONDS.toMicros(end - start));
+            corrected.record(TimeUnit.NANOSECONDS.toMicros(end - intended));
+        }
+
+        void add(Latency other) {
+            uncorrected.add(other.uncorrected);
+            corrected.add(other.corrected);
+        }
+
+        void writeTo(DataOutput out) throws IOException {
+            uncorrected.writeTo(out);
+            corrected.writeTo(out);
+        }
+
+        static Latency readFrom(DataInput in) throws IOException {
+            return new Latency(LatencyHistogram.readFrom(in), LatencyHistogram.readFrom(in));
+        }
+    }
+}
@@ -0,0 +1,244 @@
+package com.emmanuelarhu.load;
+
+import com.emmanuelarhu.latency.LatencyHistogram;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Outcome of a load run: achieved arrival rate and throughput, responses by status class, latency percentiles
+ * overall and per endpoint template, both corrected for coordinated omission (from the scheduled send time)
+ * and uncorrected (service time), and how late arrivals started. A {@link ConcurrencySweep} reports the same
+ * figures per step, plus its knee. A soak adds the {@link ResourceSampler} trends, and a multi-process run
+ * each worker's share, the skew between workers and the coordinator's overhead. Written as JSON to {@code load.report.file}
+ * and summarised in the run metrics. 4xx responses are reported but not counted as errors, since the negative
+ * tests send them on purpose; the error rate covers 5xx responses and requests without a response.
+ */
+final class LoadReport {
+
+    private static final ObjectMapper MAPPER = new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT);
+
+    private LoadReport() {}
+
+    /**
+     * @param baseUrl Target of the run
+     * @param profile Settings of the run
+     * @param plan Invocations the arrivals cycled through
+     * @param load Finished run
+     * @param recorder Requests of the run
+     * @return JSON-ready summary
+     */
+    static Map<String, Object> summary(String baseUrl, LoadProfile profile, LoadPlan plan, OpenModelLoad load,
+                                       LoadRecorder recorder) {
+        double seconds = load.elapsedNanos() / (double) TimeUnit.SECONDS.toNanos(1);
+        long requests = recorder.requests();
+        long[] statusClasses = recorder.statusClasses();
+
+        Map<String, Object> summary = new LinkedHashMap<>();
+        summary.put("model", "open");
+        summary.put("baseUrl", baseUrl);
+        summary.put("targetRate", profile.rate);
+        summary.put("durationSeconds", profile.durationSeconds);
+        summary.put("testMethods", plan.methods());
+        summary.put("invocationsPerCycle", plan.size());
+        summary.put("arrivals", load.arrivals());
+        summary.put("arrivalRate", round((load.arrivals() - load.dropped.sum()) / (double) profile.durationSeconds));
+        summary.put("dropped", load.dropped.sum());
+        summary.put("peakInFlight", load.peakOutstanding());
+
+        summary.put("invocations", load.outcomes.summary());
+
+        summary.put("requests", requests);
+        summary.put("throughputPerSecond", round(seconds <= 0 ? 0.0 : requests / seconds));
+        Map<String, Object> classes = new LinkedHashMap<>();
+        for (int i = 1; i < statusClasses.length; i++) {
+            classes.put(LoadRecorder.STATUS_CLASSES[i], share(statusClasses[i], requests));
+        }
+        if (statusClasses[0] > 0) {
+            classes.put(LoadRecorder.STATUS_CLASSES[0], share(statusClasses[0], requests));
+        }
+        classes.put("noResponse", share(recorder.errors.sum(), requests));
+        summary.put("statusClasses", classes);
+        summary.put("errorRatePercent", percent(statusClasses[5] + recorder.errors.sum(), requests));
+
+        summary.put("latency", percentiles(recorder.latency));
+        summary.put("startLag", percentiles(load.startLag));
+        Map<String, Object> endpoints = new LinkedHashMap<>();
+        recorder.endpoints().forEach((name, latency) -> endpoints.put(name, percentiles(latency)));
+        summary.put("endpoints", endpoints);
+        summary.put("failureSamples", load.outcomes.failures);
+        return summary;
+    }
+
+    /**
+     * @param baseUrl Target of the sweep
+     * @param profile Settings of the sweep
+     * @param plan Invocations the users cycled through
+     * @param sweep Finished sweep
+     * @return JSON-ready summary
+     */
+    static Map<String, Object> summary(String baseUrl, LoadProfile profile, LoadPlan plan, ConcurrencySweep sweep) {
+        Map<String, Object> summary = new LinkedHashMap<>();
+        summary.put("model", "closed");
+        summary.put("baseUrl", baseUrl);
+        summary.put("stepSeconds", profile.sweepStepSeconds);
+        summary.put("testMethods", plan.methods());
+        summary.put("invocationsPerCycle", plan.size());
+
+        List<Map<String, Object>> steps = new ArrayList<>();
+        List<String> failureSamples = new ArrayList<>();
+        ConcurrencySweep.Step peak = null;
+        for (ConcurrencySweep.Step step : sweep.steps) {
+            Map<String, Object> values = new LinkedHashMap<>();
+            values.put("users", step.users);
+            values.put("requests", step.recorder.requests());
+            values.put("throughputPerSecond", round(step.throughput()));
+            values.put("errorRatePercent", percent(step.recorder.statusClasses()[5] + step.recorder.errors.sum(),
+                    step.recorder.requests()));
+            values.put("invocations", step.outcomes.summary());
+            values.put("latency", percentiles(step.latency()));
+            steps.add(values);
+            step.outcomes.failures.stream().limit(Math.max(0, 20 - failureSamples.size())).forEach(failureSamples::add);
+            if (peak == null || step.throughput() > peak.throughput()) {
+                peak = step;
+            }
+        }
+        summary.put("steps", steps);
+        summary.put("peakThroughput", peak == null ? null : knee(peak));
+        int knee = sweep.knee();
+        summary.put("knee", knee < 0 ? null : knee(sweep.steps.get(knee)));
+        summary.put("saturatedAtUsers", knee < 0 ? null : sweep.steps.get(knee + 1).users);
+        summary.put("failureSamples", failureSamples);
+        return summary;
+    }
+
+    /**
+     * Write the summary as JSON
+     * @param summary Result of {@link #summary}
+     * @param file Where to write it
+     */
+    static void write(Map<String, Object> summary, Path file) {
+        try {
+            Files.createDirectories(file.toAbsolutePath().getParent());
+            MAPPER.writeValue(file.toFile(), summary);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not write load report " + file, e);
+        }
+    }
+
+    /**
+     * @param summary Result of {@link #summary}
+     * @return the headline figures for the run metrics
+     */
+    @SuppressWarnings("unchecked")
+    static Map<String, Object> metrics(Map<String, Object> summary) {
+        Map<String, Object> metrics = new LinkedHashMap<>();
+        if ("closed".equals(summary.get("model"))) {
+            metrics.put("baseUrl", summary.get("baseUrl"));
+            for (Map<String, Object> step : (List<Map<String, Object>>) summary.get("steps")) {
+                Map<String, Object> latency = (Map<String, Object>) step.get("latency");
+                metrics.put(step.get("users") + " users", step.get("throughputPerSecond") + " req/s, "
+                        + headline(latency) + ", errors=" + step.get("errorRatePercent") + "%");
+            }
+            Map<String, Object> knee = (Map<String, Object>) summary.get("knee");
+            metrics.put("knee", knee == null ? "not reached" : knee.get("users") + " users, "
+                    + knee.get("throughputPerSecond") + " req/s, p95=" + knee.get("p95"));
+            return metrics;
+        }
+        for (String key : new String[]{"baseUrl", "targetRate", "arrivalRate", "dropped", "peakInFlight", "invocations",
+                "requests", "throughputPerSecond", "errorRatePercent"}) {
+            metrics.put(key, summary.get(key));
+        }
+        StringBuilder classes = new StringBuilder();
+        ((Map<String, Map<String, Object>>) summary.get("statusClasses")).forEach((name, share) -> {
+            if (((Number) share.get("count")).longValue() > 0) {
+                classes.append(classes.length() == 0 ? "" : " ").append(name).append('=').append(share.get("percent")).append('%');
+            }
+        });
+        metrics.put("statusClasses", classes.toString());
+        Map<String, Map<String, Object>> latency = (Map<String, Map<String, Object>>) summary.get("latency");
+        metrics.put("latencyMs", headline(latency.get("corrected")));
+        metrics.put("serviceTimeMs", headline(latency.get("uncorrected")));
+        Map<String, Object> startLag = (Map<String, Object>) summary.get("startLag");
+        metrics.put("startLagMs", "p50=" + startLag.get("p50") + " p99=" + startLag.get("p99") + " max=" + startLag.get("max"));
+        Map<String, Object> skew = (Map<String, Object>) summary.get("skew");
+        if (skew != null) {
+            metrics.put("workers", ((List<?>) summary.get("workers")).size());
+            metrics.put("skew", "start=" + skew.get("startSkewSpreadMs") + "ms throughput="
+                    + skew.get("throughputSpreadPercent") + "% p99=" + skew.get("latencyP99SpreadMs") + "ms");
+            Map<String, Object> coordinator = (Map<String, Object>) summary.get("coordinator");
+            metrics.put("coordinator", "ready=" + coordinator.get("workersReadyMs") + "ms merge=" + coordinator.get("mergeMs")
+                    + "ms cpu=" + coordinator.get("threadCpuMs") + "ms bytes=" + coordinator.get("resultBytes"));
+        }
+        Map<String, Object> soak = (Map<String, Object>) summary.get("soak");
+        if (soak != null) {
+            List<String> growing = (List<String>) soak.get("growing");
+            metrics.put("soak", soak.get("samples") + " samples, " + (growing.isEmpty() ? "no resource kept growing"
+                    : "growing: " + String.join(", ", growing)));
+        }
+        return metrics;
+    }
+
+    private static String headline(Map<String, Object> latency) {
+        return "p50=" + latency.get("p50") + " p95=" + latency.get("p95") + " p99=" + latency.get("p99")
+                + " max=" + latency.get("max");
+    }
+
+    private static Map<String, Object> knee(ConcurrencySweep.Step step) {
+        Map<String, Object> knee = new LinkedHashMap<>();
+        knee.put("users", step.users);
+        knee.put("throughputPerSecond", round(step.throughput()));
+        knee.put("p95", millis(step.latency().percentileMicros(95)));
+        return knee;
+    }
+
+    private static Map<String, Object> percentiles(LoadRecorder.Latency latency) {
+        Map<String, Object> percentiles = new LinkedHashMap<>();
+        percentiles.put("corrected", percentiles(latency.corrected));
+        percentiles.put("uncorrected", percentiles(latency.uncorrected));
+        return percentiles;
+    }
+
+    private static Map<String, Object> percentiles(LatencyHistogram histogram) {
+        Map<String, Object> percentiles = new LinkedHashMap<>();
+        percentiles.put("count", histogram.count());
+        percentiles.put("mean", millis(Math.round(histogram.meanMicros())));
+        percentiles.put("p50", millis(histogram.percentileMicros(50)));
+        percentiles.put("p90", millis(histogram.percentileMicros(90)));
+        percentiles.put("p95", millis(histogram.percentileMicros(95)));
+        percentiles.put("p99", millis(histogram.percentileMicros(99)));
+        percentiles.put("p99.9", millis(histogram.percentileMicros(99.9)));
+        percentiles.put("max", millis(histogram.maxMicros()));
+        return percentiles;
+    }
+
+    private static Map<String, Object> share(long count, long total) {
+        Map<String, Object> share = new LinkedHashMap<>();
+        share.put("count", count);
+        share.put("percent", percent(count, total));
+        return share;
+    }
+
+    private static BigDecimal percent(long count, long total) {
+        return round(total == 0 ? 0.0 : 100.0 * count / total);
+    }
+
+    static BigDecimal round(double value) {
+        return BigDecimal.valueOf(value).setScale(2, RoundingMode.HALF_UP);
+    }
+
+    static BigDecimal millis(long micros) {
+        return BigDecimal.valueOf(micros, 3);
+    }
+}
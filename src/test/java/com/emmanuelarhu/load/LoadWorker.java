@@ -0,0 +1,113 @@
+package com.emmanuelarhu.load;
+
+import com.emmanuelarhu.base.RunReportListener;
+import com.emmanuelarhu.base.SuiteBootstrapListener;
+import org.testng.ITestNGListener;
+import org.testng.TestNG;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.net.InetAddress;
+import java.net.Socket;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * A worker process of a multi-process load run, forked by {@link LoadCoordinator}. {@link #main} runs TestNG
+ * over the load classes with only the listeners a load run needs, so the {@link LoadListener} builds the same
+ * plan as the coordinator. Once warmed up, the worker connects back, waits for the common start time, runs its
+ * share of the schedule and sends its histograms and counts over the socket.
+ */
+public final class LoadWorker {
+
+    private final Socket socket;
+    private final DataInputStream in;
+    private final DataOutputStream out;
+
+    private LoadWorker(Socket socket) throws IOException {
+        this.socket = socket;
+        this.in = new DataInputStream(socket.getInputStream());
+        this.out = new DataOutputStream(socket.getOutputStream());
+    }
+
+    /**
+     * Run the load classes named in {@code load.worker.classes} as this worker's share of the load
+     * @param args Not used; everything comes from system properties
+     */
+    public static void main(String[] args) throws ClassNotFoundException {
+        List<Class<?>> classes = new ArrayList<>();
+        for (String name : System.getProperty("load.worker.classes", "").split(",")) {
+            if (!name.isEmpty()) {
+                classes.add(Class.forName(name));
+            }
+        }
+        List<Class<? extends ITestNGListener>> listeners = List.of(
+                SuiteBootstrapListener.class, RunReportListener.class, LoadListener.class);
+        TestNG testng = new TestNG(false);
+        testng.setTestClasses(classes.toArray(new Class<?>[0]));
+        testng.setListenerClasses(listeners);
+        testng.setOutputDirectory(System.getProperty("load.worker.output", "target/load/workers"));
+        testng.run();
+        System.exit(0);
+    }
+
+    /**
+     * Tell the coordinator this worker is ready
+     * @param profile Settings naming the coordinator's port and this worker's id
+     * @return connection to the coordinator
+     * @throws IOException if the coordinator cannot be reached
+     */
+    static LoadWorker connect(LoadProfile profile) throws IOException {
+        LoadWorker worker = new LoadWorker(new Socket(InetAddress.getLoopbackAddress(), profile.workerPort));
+        worker.out.writeInt(profile.workerId);
+        worker.out.flush();
+        return worker;
+    }
+
+    /**
+     * Wait for the coordinator's start time
+     * @return {@link System#nanoTime()} to start the schedule at
+     * @throws IOException if the coordinator goes away
+     */
+    long awaitStart() throws IOException {
+        long startAtMillis = in.readLong();
+        return System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(startAtMillis - System.currentTimeMillis());
+    }
+
+    /**
+     * Send this worker's results and close the connection
+     * @param load Finished run
+     * @param recorder Requests of the run
+     * @throws IOException if the coordinator goes away
+     */
+    void send(OpenModelLoad load, LoadRecorder recorder) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        DataOutputStream results = new DataOutputStream(bytes);
+        results.writeLong(ProcessHandle.current().pid());
+        results.writeLong(cpuNanos());
+        load.writeTo(results);
+        recorder.writeTo(results);
+        results.flush();
+        try {
+            out.writeInt(bytes.size());
+            bytes.writeTo(out);
+            out.flush();
+        } finally {
+            socket.close();
+        }
+    }
+
+    /**
+     * @return CPU time this process has used, or -1 if the JVM does not say
+     */
+    static long cpuNanos() {
+        java.lang.management.OperatingSystemMXBean os = ManagementFactory.getOperatingSystemMXBean();
+        return os instanceof com.sun.management.OperatingSystemMXBean
+                ? ((com.sun.management.OperatingSystemMXBean) os).getProcessCpuTime()
+                : -1L;
+    }
+}
@@ -0,0 +1,90 @@
+package com.emmanuelarhu.load;
+
+import java.util.Arrays;
+
+/**
+ * Mann-Kendall test for a monotonic trend, with Sen's slope for its size. The test only looks at whether
+ * later samples tend to be higher than earlier ones, so it is not thrown by GC sawtooth, outliers or a
+ * trend that is steady but not linear; ties (a thread count that does not move) count as no change.
+ *
+ * Both take every pair of samples, so a series longer than {@link #MAX_SAMPLES} is first thinned to that many
+ * evenly spaced samples: 2,000 samples are two million pairs (16 MB of slopes), where the 28,800 of an
+ * eight-hour soak sampled every second would need over 3 GB.
+ */
+final class MannKendall {
+
+    /** Most samples judged; longer series are thinned evenly, keeping the first and last */
+    static final int MAX_SAMPLES = 2000;
+
+    /** Normal score of the Mann-Kendall statistic; positive when values grow */
+    final double z;
+    /** Median of the pairwise slopes, in value units per second */
+    final double slopePerSecond;
+    /** Median of the values */
+    final double median;
+
+    private MannKendall(double z, double slopePerSecond, double median) {
+        this.z = z;
+        this.slopePerSecond = slopePerSecond;
+        this.median = median;
+    }
+
+    /**
+     * @param seconds Sample times, ascending
+     * @param values Sample values
+     * @return test result; zero trend for fewer than three samples
+     */
+    static MannKendall of(double[] seconds, double[] values) {
+        if (values.length > MAX_SAMPLES) {
+            seconds = thin(seconds);
+            values = thin(values);
+        }
+        int n = values.length;
+        if (n < 3) {
+            return new MannKendall(0, 0, n == 0 ? 0 : median(values.clone()));
+        }
+        long s = 0;
+        double[] slopes = new double[n * (n - 1) / 2];
+        int pairs = 0;
+        for (int i = 0; i < n - 1; i++) {
+            for (int j = i + 1; j < n; j++) {
+                s += Double.compare(values[j], values[i]);
+                if (seconds[j] > seconds[i]) {
+                    slopes[pairs++] = (values[j] - values[i]) / (seconds[j] - seconds[i]);
+                }
+            }
+        }
+
+        // Variance of S, less the share of tied groups
+        double[] sorted = values.clone();
+        Arrays.sort(sorted);
+        double variance = n * (n - 1.0) * (2.0 * n + 5);
+        for (int i = 0; i < n; ) {
+            int j = i;
+            while (j < n && sorted[j] == sorted[i]) {
+                j++;
+            }
+            double ties = j - i;
+            variance -= ties * (ties - 1) * (2 * ties + 5);
+            i = j;
+        }
+        variance /= 18.0;
+
+        double z = variance <= 0 || s == 0 ? 0 : (s - Math.signum(s)) / Math.sqrt(variance);
+        return new MannKendall(z, pairs == 0 ? 0 : median(Arrays.copyOf(slopes, pairs)), median(sorted));
+    }
+
+    private static double[] thin(double[] series) {
+        double[] thinned = new double[MAX_SAMPLES];
+        for (int i = 0; i < MAX_SAMPLES; i++) {
+            thinned[i] = series[(int) ((long) i * (series.length - 1) / (MAX_SAMPLES - 1))];
+        }
+        return thinned;
+    }
+
+    private static double median(double[] values) {
+        Arrays.sort(values);
+        int middle = values.length / 2;
+        return values.length % 2 == 1 ? values[middle] : (values[middle - 1] + values[middle]) / 2;
+    }
+}
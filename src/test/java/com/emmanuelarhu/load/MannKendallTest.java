@@ -0,0 +1,109 @@
+package com.emmanuelarhu.load;
+
+import io.qameta.allure.*;
+import org.testng.annotations.Test;
+
+import static org.testng.Assert.*;
+
+/**
+ * Checks of the {@link MannKendall} behind the soak's leak detection against series whose Mann-Kendall
+ * score and Sen's slope are known by hand. No API calls.
+ */
+@Epic("Framework Self-Tests")
+@Feature("Soak Trend Test")
+public class MannKendallTest {
+
+    private static final double DELTA = 1e-9;
+
+    @Test(groups = {"unit"})
+    @Story("Flat Series")
+    @Description("Verify that a series that never moves shows no trend")
+    @Severity(SeverityLevel.NORMAL)
+    public void testFlatSeriesHasNoTrend() {
+        MannKendall trend = MannKendall.of(seconds(10, 1), new double[]{5, 5, 5, 5, 5, 5, 5, 5, 5, 5});
+
+        assertEquals(trend.z, 0.0, DELTA, "z of a flat series");
+        assertEquals(trend.slopePerSecond, 0.0, DELTA, "Slope of a flat series");
+        assertEquals(trend.median, 5.0, DELTA, "Median of a flat series");
+    }
+
+    @Test(groups = {"unit"})
+    @Story("Monotonic Series")
+    @Description("Verify the score and slope of a steadily rising series: S = 45, Var(S) = 125 for 10 samples")
+    @Severity(SeverityLevel.CRITICAL)
+    public void testMonotonicRise() {
+        double[] values = new double[10];
+        for (int i = 0; i < values.length; i++) {
+            values[i] = 100 + i;
+        }
+        MannKendall trend = MannKendall.of(seconds(10, 2), values);
+
+        assertEquals(trend.z, 44 / Math.sqrt(125), DELTA, "z of a rising series");
+        assertEquals(trend.slopePerSecond, 0.5, DELTA, "One unit every two seconds");
+        assertEquals(trend.median, 104.5, DELTA, "Median of a rising series");
+    }
+
+    @Test(groups = {"unit"})
+    @Story("Monotonic Series")
+    @Description("Verify that a falling series scores negative, so it is never taken for a leak")
+    @Severity(SeverityLevel.NORMAL)
+    public void testMonotonicFall() {
+        double[] values = new double[10];
+        for (int i = 0; i < values.length; i++) {
+            values[i] = 100 - i;
+        }
+        MannKendall trend = MannKendall.of(seconds(10, 1), values);
+
+        assertEquals(trend.z, -44 / Math.sqrt(125), DELTA, "z of a falling series");
+        assertEquals(trend.slopePerSecond, -1.0, DELTA, "Slope of a falling series");
+    }
+
+    @Test(groups = {"unit"})
+    @Story("Ties")
+    @Description("Verify that tied values count as no change and shrink the variance: S = 12, Var(S) = 456 / 18")
+    @Severity(SeverityLevel.CRITICAL)
+    public void testTiesCorrectVariance() {
+        MannKendall trend = MannKendall.of(seconds(6, 1), new double[]{1, 1, 2, 2, 3, 3});
+
+        assertEquals(trend.z, 11 / Math.sqrt(456 / 18.0), DELTA, "z with three tied pairs");
+        assertEquals(trend.slopePerSecond, 0.5, DELTA, "Sen's slope with ties");
+        assertEquals(trend.median, 2.0, DELTA, "Median with ties");
+    }
+
+    @Test(groups = {"unit"})
+    @Story("Short Series")
+    @Description("Verify that fewer than three samples give a zero trend but still a median")
+    @Severity(SeverityLevel.MINOR)
+    public void testShortSeriesHasNoTrend() {
+        MannKendall trend = MannKendall.of(seconds(2, 1), new double[]{1, 9});
+
+        assertEquals(trend.z, 0.0, DELTA, "z of two samples");
+        assertEquals(trend.slopePerSecond, 0.0, DELTA, "Slope of two samples");
+        assertEquals(trend.median, 5.0, DELTA, "Median of two samples");
+        assertEquals(MannKendall.of(new double[0], new double[0]).median, 0.0, DELTA, "Median of no samples");
+    }
+
+    @Test(groups = {"unit"})
+    @Story("Long Series")
+    @Description("Verify that a series far longer than the judged maximum is thinned and keeps its slope")
+    @Severity(SeverityLevel.CRITICAL)
+    public void testLongSeriesIsThinned() {
+        int n = MannKendall.MAX_SAMPLES * 15;
+        double[] values = new double[n];
+        for (int i = 0; i < n; i++) {
+            values[i] = 1000 + 0.25 * i + (i % 5) * 10;
+        }
+        MannKendall trend = MannKendall.of(seconds(n, 1), values);
+
+        assertTrue(trend.z > 10, "Rising series of " + n + " samples should score high, z=" + trend.z);
+        assertEquals(trend.slopePerSecond, 0.25, 0.01, "Slope of the thinned series");
+    }
+
+    private static double[] seconds(int n, double interval) {
+        double[] seconds = new double[n];
+        for (int i = 0; i < n; i++) {
+            seconds[i] = i * interval;
+        }
+        return seconds;
+    }
+}
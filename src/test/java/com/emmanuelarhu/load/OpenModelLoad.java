@@ -0,0 +1,192 @@
+package com.emmanuelarhu.load;
+
+import com.emmanuelarhu.base.ExecutionMode;
+import com.emmanuelarhu.base.RequestPhases;
+import com.emmanuelarhu.latency.LatencyHistogram;
+import com.emmanuelarhu.reporting.TestLog;
+import org.slf4j.Logger;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Open-model load: arrival {@code n} is started at {@code start + n / load.rate} whether or not earlier
+ * requests have completed, the way independent users arrive, so a slow server builds up requests in flight
+ * instead of quietly lowering the request rate. Arrival times are absolute, so a late scheduler catches up
+ * rather than drifting; how late each arrival actually started is kept as the start lag, and the scheduled
+ * time goes with the arrival's first request so its latency can be corrected for the wait.
+ *
+ * With {@code load.workers} processes, each one takes every {@code load.workers}-th slot of the same schedule,
+ * offset by its worker id, so together they send exactly the arrivals one process would.
+ *
+ * Arrivals run on {@code load.concurrency} workers (virtual threads with {@code test.parallel=virtual}).
+ * Arrivals beyond {@code load.max.outstanding} in flight are dropped and counted, so an overloaded run
+ * ends on time.
+ */
+final class OpenModelLoad {
+
+    private static final Logger log = TestLog.getRunLogger(OpenModelLoad.class);
+
+    private final LoadProfile profile;
+    private final LoadPlan plan;
+
+    final LatencyHistogram startLag = new LatencyHistogram();
+    final LongAdder dropped = new LongAdder();
+    final Outcomes outcomes;
+    private final AtomicInteger outstanding = new AtomicInteger();
+    private final AtomicInteger peakOutstanding = new AtomicInteger();
+    private long arrivals;
+    private long elapsedNanos;
+    private long startSkewNanos;
+
+    OpenModelLoad(LoadProfile profile, LoadPlan plan) {
+        this.profile = profile;
+        this.plan = plan;
+        this.outcomes = new Outcomes(new AtomicInteger(profile.failureLogs));
+    }
+
+    /**
+     * Send arrivals for {@code load.duration.seconds}, then wait up to {@code load.drain.seconds} for
+     * those still in flight
+     * @param start {@link System#nanoTime()} the schedule starts at, now or in the near future
+     */
+    void run(long start) throws InterruptedException {
+        ThreadPoolExecutor workers = new ThreadPoolExecutor(profile.concurrency, profile.concurrency, 60L, TimeUnit.SECONDS,
+                new LinkedBlockingQueue<>(), ExecutionMode.current().threadFactory());
+        double intervalNanos = TimeUnit.SECONDS.toNanos(1) / profile.rate;
+        long durationNanos = TimeUnit.SECONDS.toNanos(profile.durationSeconds);
+        long progressNanos = TimeUnit.SECONDS.toNanos(Math.max(1L, profile.progressSeconds));
+        long nextProgress = start + progressNanos;
+
+        for (long arrival = 0; ; arrival++) {
+            long slot = arrival * profile.workers + profile.workerId;
+            long intended = start + (long) (slot * intervalNanos);
+            if (intended - start >= durationNanos) {
+                break;
+            }
+            for (long wait = intended - System.nanoTime(); wait > 0; wait = intended - System.nanoTime()) {
+                LockSupport.parkNanos(wait);
+            }
+            if (arrival == 0) {
+                startSkewNanos = System.nanoTime() - intended;
+            }
+            arrivals++;
+            if (outstanding.get() >= profile.maxOutstanding) {
+                dropped.increment();
+            } else {
+                peakOutstanding.accumulateAndGet(outstanding.incrementAndGet(), Math::max);
+                LoadPlan.Invocation invocation = plan.get(slot);
+                workers.execute(() -> invoke(invocation, intended));
+            }
+            if (System.nanoTime() - nextProgress >= 0) {
+                nextProgress += progressNanos;
+                log.info("🚚 Load {}/{} s: {} arrivals, {} in flight, {} dropped",
+                        TimeUnit.NANOSECONDS.toSeconds(System.nanoTime() - start), profile.durationSeconds, arrivals,
+                        outstanding.get(), dropped.sum());
+            }
+        }
+
+        workers.shutdown();
+        if (!workers.awaitTermination(profile.drainSeconds, TimeUnit.SECONDS)) {
+            log.warn("⚠️ Load: {} arrivals still in flight after {} s, abandoned", outstanding.get(),
+                    profile.drainSeconds);
+            workers.shutdownNow();
+        }
+        elapsedNanos = System.nanoTime() - start;
+    }
+
+    private void invoke(LoadPlan.Invocation invocation, long intended) {
+        try {
+            startLag.record(TimeUnit.NANOSECONDS.toMicros(System.nanoTime() - intended));
+            RequestPhases.schedule(intended);
+            outcomes.run(invocation);
+        } finally {
+            RequestPhases.unschedule();
+            outstanding.decrementAndGet();
+        }
+    }
+
+    /**
+     * @return arrivals scheduled, including dropped ones
+     */
+    long arrivals() {
+        return arrivals;
+    }
+
+    /**
+     * @return most arrivals in flight at once
+     */
+    int peakOutstanding() {
+        return peakOutstanding.get();
+    }
+
+    /**
+     * @return wall time from the start of the schedule until the last arrival completed or was abandoned
+     */
+    long elapsedNanos() {
+        return elapsedNanos;
+    }
+
+    /**
+     * @return how late the first arrival was sent
+     */
+    long startSkewNanos() {
+        return startSkewNanos;
+    }
+
+    /**
+     * Write the run's counts and start lag, for a coordinator to merge
+     * @param out Stream to write to
+     * @throws IOException if the stream fails
+     */
+    void writeTo(DataOutput out) throws IOException {
+        out.writeLong(arrivals);
+        out.writeLong(dropped.sum());
+        out.writeInt(peakOutstanding.get());
+        out.writeLong(elapsedNanos);
+        out.writeLong(startSkewNanos);
+        startLag.writeTo(out);
+        outcomes.writeTo(out);
+    }
+
+    /**
+     * @param in Stream holding a run written by {@link #writeTo}
+     * @param profile Settings of the run
+     * @param plan Invocations of the run
+     * @return finished run with the same counts
+     * @throws IOException if the stream fails
+     */
+    static OpenModelLoad readFrom(DataInput in, LoadProfile profile, LoadPlan plan) throws IOException {
+        OpenModelLoad load = new OpenModelLoad(profile, plan);
+        load.arrivals = in.readLong();
+        load.dropped.add(in.readLong());
+        load.peakOutstanding.set(in.readInt());
+        load.elapsedNanos = in.readLong();
+        load.startSkewNanos = in.readLong();
+        load.startLag.add(LatencyHistogram.readFrom(in));
+        load.outcomes.add(Outcomes.readFrom(in));
+        return load;
+    }
+
+    /**
+     * Add the run of another process: counts add up, the peak in flight becomes the sum of the peaks (an upper
+     * bound, as the peaks need not coincide) and the elapsed time and start skew the longest
+     * @param other Run to merge in
+     */
+    void add(OpenModelLoad other) {
+        arrivals += other.arrivals;
+        dropped.add(other.dropped.sum());
+        peakOutstanding.addAndGet(other.peakOutstanding.get());
+        elapsedNanos = Math.max(elapsedNanos, other.elapsedNanos);
+        startSkewNanos = Math.max(startSkewNanos, other.startSkewNanos);
+        startLag.add(other.startLag);
+        outcomes.add(other.outcomes);
+    }
+}
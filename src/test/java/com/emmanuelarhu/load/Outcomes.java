@@ -0,0 +1,111 @@
+package com.emmanuelarhu.load;
+
+import com.emmanuelarhu.reporting.TestLog;
+import org.testng.SkipException;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * How the test invocations of a load run ended: passed, failed or skipped, with the first few failures kept
+ * as samples. Each invocation logs into its own ring buffer, printed only for failed invocations while the
+ * run's {@code load.failure.logs} budget lasts.
+ */
+final class Outcomes {
+
+    private static final int MAX_FAILURE_SAMPLES = 20;
+
+    final LongAdder passed = new LongAdder();
+    final LongAdder failed = new LongAdder();
+    final LongAdder skipped = new LongAdder();
+    final List<String> failures = new CopyOnWriteArrayList<>();
+    private final AtomicInteger failureLogsLeft;
+
+    /**
+     * @param failureLogsLeft Failed invocations whose log may still be printed, shared by the whole run
+     */
+    Outcomes(AtomicInteger failureLogsLeft) {
+        this.failureLogsLeft = failureLogsLeft;
+    }
+
+    /**
+     * Run one invocation and count how it ended
+     * @param invocation Test method call to run
+     */
+    void run(LoadPlan.Invocation invocation) {
+        TestLog.begin(invocation.name);
+        Throwable failure = invocation.run();
+        boolean failedTest = failure != null && !(failure instanceof SkipException);
+        TestLog.end(failedTest && failureLogsLeft.getAndDecrement() > 0);
+        if (failure == null) {
+            passed.increment();
+        } else if (!failedTest) {
+            skipped.increment();
+        } else {
+            failed.increment();
+            if (failures.size() < MAX_FAILURE_SAMPLES) {
+                failures.add(invocation.name + ": " + failure);
+            }
+        }
+    }
+
+    /**
+     * Write the counts and failure samples, for a coordinator to merge
+     * @param out Stream to write to
+     * @throws IOException if the stream fails
+     */
+    void writeTo(DataOutput out) throws IOException {
+        out.writeLong(passed.sum());
+        out.writeLong(failed.sum());
+        out.writeLong(skipped.sum());
+        out.writeInt(failures.size());
+        for (String failure : failures) {
+            out.writeUTF(failure.length() > 1000 ? failure.substring(0, 1000) : failure);
+        }
+    }
+
+    /**
+     * @param in Stream holding outcomes written by {@link #writeTo}
+     * @return the same counts and failure samples
+     * @throws IOException if the stream fails
+     */
+    static Outcomes readFrom(DataInput in) throws IOException {
+        Outcomes outcomes = new Outcomes(new AtomicInteger());
+        outcomes.passed.add(in.readLong());
+        outcomes.failed.add(in.readLong());
+        outcomes.skipped.add(in.readLong());
+        for (int n = in.readInt(); n > 0; n--) {
+            outcomes.failures.add(in.readUTF());
+        }
+        return outcomes;
+    }
+
+    /**
+     * Add the outcomes of {@code other}, keeping at most the usual number of failure samples
+     * @param other Outcomes to merge in
+     */
+    void add(Outcomes other) {
+        passed.add(other.passed.sum());
+        failed.add(other.failed.sum());
+        skipped.add(other.skipped.sum());
+        other.failures.stream().limit(Math.max(0, MAX_FAILURE_SAMPLES - failures.size())).forEach(failures::add);
+    }
+
+    /**
+     * @return passed, failed and skipped counts
+     */
+    Map<String, Object> summary() {
+        Map<String, Object> summary = new LinkedHashMap<>();
+        summary.put("passed", passed.sum());
+        summary.put("failed", failed.sum());
+        summary.put("skipped", skipped.sum());
+        return summary;
+    }
+}
@@ -0,0 +1,216 @@
+package com.emmanuelarhu.load;
+
+import com.emmanuelarhu.base.HttpClientPool;
+import com.emmanuelarhu.reporting.TestLog;
+import org.slf4j.Logger;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.lang.management.GarbageCollectorMXBean;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryPoolMXBean;
+import java.lang.management.MemoryType;
+import java.lang.management.MemoryUsage;
+import java.lang.management.OperatingSystemMXBean;
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongSupplier;
+
+/**
+ * Samples the client JVM's resources during a soak, every {@code load.soak.sample.seconds}: heap in use after
+ * the last GC, GC count and pause time, live threads, open file descriptors (Unix only) and the shared pool's
+ * leased and idle connections. Each sample is appended to {@code load.soak.file} as it is taken, so a soak that
+ * is stopped early still leaves its time series.
+ *
+ * At the end, each resource sampled after {@code load.soak.settle.seconds} is checked with a Mann-Kendall trend
+ * test ({@link MannKendall}). It counts as growing, and possibly leaking, when the trend is significant
+ * ({@code z} above {@code load.soak.trend.z}) and the projected growth over the window is at least
+ * {@code load.soak.min.growth.percent} of its median. GC pauses are judged per interval, not as a running total.
+ * Past {@link MannKendall#MAX_SAMPLES} settled samples the test judges an evenly thinned series.
+ */
+final class ResourceSampler {
+
+    private static final Logger log = TestLog.getRunLogger(ResourceSampler.class);
+    private static final String[] COLUMNS = {"elapsedSeconds", "time", "heapAfterGcBytes", "gcCount", "gcPauseMillis",
+            "threads", "openFileDescriptors", "leasedConnections", "idleConnections", "requests"};
+    private static final int HEAP = 2;
+    private static final int GC_COUNT = 3;
+    private static final int GC_PAUSE = 4;
+    private static final int THREADS = 5;
+    private static final int FILE_DESCRIPTORS = 6;
+    private static final int LEASED = 7;
+    private static final int IDLE = 8;
+    private static final int REQUESTS = 9;
+    private static final int MIN_SAMPLES = 8;
+
+    private final LoadProfile profile;
+    private final LongSupplier requests;
+    private final List<long[]> samples = new ArrayList<>();
+    private final ScheduledExecutorService timer = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "soak-sampler");
+        thread.setDaemon(true);
+        return thread;
+    });
+    private BufferedWriter out;
+    private long start;
+
+    /**
+     * @param profile Soak settings
+     * @param requests Requests sent so far
+     */
+    ResourceSampler(LoadProfile profile, LongSupplier requests) {
+        this.profile = profile;
+        this.requests = requests;
+    }
+
+    /**
+     * Take the first sample now and the next ones on schedule
+     */
+    void start() {
+        try {
+            Files.createDirectories(profile.soakFile.toAbsolutePath().getParent());
+            out = Files.newBufferedWriter(profile.soakFile, StandardCharsets.UTF_8);
+            out.write(String.join("\t", COLUMNS));
+            out.newLine();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not write soak samples to " + profile.soakFile, e);
+        }
+        start = System.nanoTime();
+        long period = Math.max(1L, profile.soakSampleSeconds);
+        timer.scheduleAtFixedRate(this::sample, 0L, period, TimeUnit.SECONDS);
+    }
+
+    /**
+     * Stop sampling and close the time series; called as soon as the load ends, since the workers shutting
+     * down would read as a drop in threads
+     */
+    void stop() throws InterruptedException {
+        timer.shutdown();
+        timer.awaitTermination(1L, TimeUnit.MINUTES);
+        try {
+            out.close();
+        } catch (IOException e) {
+            log.warn("⚠️ Could not close {}: {}", profile.soakFile, e.getMessage());
+        }
+    }
+
+    private synchronized void sample() {
+        long[] sample = new long[COLUMNS.length];
+        sample[0] = TimeUnit.NANOSECONDS.toSeconds(System.nanoTime() - start);
+        sample[1] = System.currentTimeMillis();
+        for (MemoryPoolMXBean pool : ManagementFactory.getMemoryPoolMXBeans()) {
+            MemoryUsage afterGc = pool.getType() == MemoryType.HEAP ? pool.getCollectionUsage() : null;
+            sample[HEAP] += afterGc == null ? 0L : afterGc.getUsed();
+        }
+        for (GarbageCollectorMXBean collector : ManagementFactory.getGarbageCollectorMXBeans()) {
+            sample[GC_COUNT] += Math.max(0L, collector.getCollectionCount());
+            sample[GC_PAUSE] += Math.max(0L, collector.getCollectionTime());
+        }
+        sample[THREADS] = ManagementFactory.getThreadMXBean().getThreadCount();
+        OperatingSystemMXBean os = ManagementFactory.getOperatingSystemMXBean();
+        sample[FILE_DESCRIPTORS] = os instanceof com.sun.management.UnixOperatingSystemMXBean
+                ? ((com.sun.management.UnixOperatingSystemMXBean) os).getOpenFileDescriptorCount()
+                : -1L;
+        int[] connections = HttpClientPool.shared().connections();
+        sample[LEASED] = connections[0];
+        sample[IDLE] = connections[1];
+        sample[REQUESTS] = requests.getAsLong();
+        samples.add(sample);
+
+        StringBuilder line = new StringBuilder();
+        for (int i = 0; i < sample.length; i++) {
+            line.append(i == 0 ? "" : "\t").append(i == 1 ? Instant.ofEpochMilli(sample[i]).toString() : String.valueOf(sample[i]));
+        }
+        try {
+            out.write(line.toString());
+            out.newLine();
+            out.flush();
+        } catch (IOException e) {
+            log.warn("⚠️ Could not write soak sample: {}", e.getMessage());
+        }
+        log.info("🧪 Soak {} min: heap after GC {} MB, {} GCs ({} ms), {} threads, {} open files,"
+                        + " {} leased + {} idle connections", sample[0] / 60, sample[HEAP] >> 20, sample[GC_COUNT],
+                sample[GC_PAUSE], sample[THREADS], sample[FILE_DESCRIPTORS], sample[LEASED], sample[IDLE]);
+    }
+
+    /**
+     * @return trend per resource and the resources found growing
+     */
+    synchronized Map<String, Object> summary() {
+        List<long[]> settled = new ArrayList<>();
+        for (long[] sample : samples) {
+            if (sample[0] >= profile.soakSettleSeconds) {
+                settled.add(sample);
+            }
+        }
+        Map<String, Object> trends = new LinkedHashMap<>();
+        List<String> growing = new ArrayList<>();
+        for (int column : new int[]{HEAP, GC_PAUSE, THREADS, FILE_DESCRIPTORS, LEASED, IDLE}) {
+            if (column == FILE_DESCRIPTORS && !samples.isEmpty() && samples.get(0)[column] < 0) {
+                continue;
+            }
+            double[] seconds = new double[settled.size()];
+            double[] values = new double[settled.size()];
+            for (int i = 0; i < settled.size(); i++) {
+                seconds[i] = settled.get(i)[0];
+                values[i] = column == GC_PAUSE
+                        ? settled.get(i)[column] - (i == 0 ? previous(settled.get(0))[column] : settled.get(i - 1)[column])
+                        : settled.get(i)[column];
+            }
+            MannKendall trend = MannKendall.of(seconds, values);
+            double window = settled.size() < 2 ? 0 : seconds[seconds.length - 1] - seconds[0];
+            double growthPercent = 100 * trend.slopePerSecond * window / Math.max(Math.abs(trend.median), 1);
+            boolean grows = settled.size() >= MIN_SAMPLES && trend.z > profile.soakTrendZ
+                    && growthPercent >= profile.soakMinGrowthPercent;
+            String name = COLUMNS[column] + (column == GC_PAUSE ? "PerInterval" : "");
+
+            Map<String, Object> result = new LinkedHashMap<>();
+            result.put("first", settled.isEmpty() ? null : (long) values[0]);
+            result.put("last", settled.isEmpty() ? null : (long) values[values.length - 1]);
+            result.put("median", round(trend.median));
+            result.put("slopePerHour", round(trend.slopePerSecond * 3600));
+            result.put("growthPercent", round(growthPercent));
+            result.put("z", round(trend.z));
+            result.put("growing", grows);
+            trends.put(name, result);
+            if (grows) {
+                growing.add(name);
+            }
+        }
+        long[] last = samples.isEmpty() ? new long[COLUMNS.length] : samples.get(samples.size() - 1);
+
+        Map<String, Object> summary = new LinkedHashMap<>();
+        summary.put("samples", samples.size());
+        summary.put("judgedSamples", settled.size());
+        summary.put("sampleSeconds", profile.soakSampleSeconds);
+        summary.put("settleSeconds", profile.soakSettleSeconds);
+        summary.put("file", profile.soakFile.toString());
+        summary.put("gcCount", last[GC_COUNT]);
+        summary.put("gcPauseMillis", last[GC_PAUSE]);
+        summary.put("growing", growing);
+        summary.put("trends", trends);
+        return summary;
+    }
+
+    // The sample before the first judged one, so the first GC interval has a baseline
+    private long[] previous(long[] sample) {
+        int index = samples.indexOf(sample);
+        return index > 0 ? samples.get(index - 1) : sample;
+    }
+
+    private static BigDecimal round(double value) {
+        return BigDecimal.valueOf(value).setScale(2, RoundingMode.HALF_UP);
+    }
+}
@@ -0,0 +1,135 @@
+package com.emmanuelarhu.reporting;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Hands log events to a background thread that formats them and writes them through SLF4J (slf4j-simple,
+ * configured in {@code simplelogger.properties}). Test threads only enqueue; they wait only when
+ * {@code log.async.queue.capacity} events are already queued, so no event is lost. Flushed at suite end
+ * and from a shutdown hook.
+ */
+final class AsyncLogAppender {
+
+    private static final int BATCH_SIZE = 256;
+
+    private final BlockingQueue<Object> queue;
+    private final Thread worker;
+    private final Map<String, Logger> sinks = new ConcurrentHashMap<>();
+
+    private final LongAdder appended = new LongAdder();
+    private final LongAdder written = new LongAdder();
+    private final LongAdder waits = new LongAdder();
+
+    AsyncLogAppender(int capacity) {
+        this.queue = new ArrayBlockingQueue<>(capacity);
+        this.worker = new Thread(this::drain, "test-log-appender");
+        worker.setDaemon(true);
+        worker.start();
+        Runtime.getRuntime().addShutdownHook(new Thread(this::flush, "test-log-flush"));
+    }
+
+    void append(LogEvent event) {
+        appended.increment();
+        put(event);
+    }
+
+    /**
+     * Block until every event appended before this call is written
+     */
+    void flush() {
+        if (Thread.currentThread() == worker) {
+            return;
+        }
+        CountDownLatch flushed = new CountDownLatch(1);
+        put(flushed);
+        try {
+            flushed.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    Map<String, Object> metrics() {
+        Map<String, Object> metrics = new LinkedHashMap<>();
+        metrics.put("eventsAppended", appended.sum());
+        metrics.put("eventsWritten", written.sum());
+        metrics.put("appenderQueueWaits", waits.sum());
+        return metrics;
+    }
+
+    private void put(Object item) {
+        if (queue.offer(item)) {
+            return;
+        }
+        waits.increment();
+        boolean interrupted = false;
+        while (true) {
+            try {
+                queue.put(item);
+                break;
+            } catch (InterruptedException e) {
+                interrupted = true;
+            }
+        }
+        if (interrupted) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void drain() {
+        List<Object> batch = new ArrayList<>(BATCH_SIZE);
+        while (true) {
+            try {
+                batch.add(queue.take());
+            } catch (InterruptedException e) {
+                continue; // Daemon thread: only JVM exit stops it
+            }
+            queue.drainTo(batch, BATCH_SIZE - 1);
+            for (Object item : batch) {
+                if (item instanceof CountDownLatch) {
+                    ((CountDownLatch) item).countDown();
+                } else {
+                    write((LogEvent) item);
+                }
+            }
+            batch.clear();
+        }
+    }
+
+    private void write(LogEvent event) {
+        try {
+            Logger sink = sinks.computeIfAbsent(event.logger, name -> LoggerFactory.getLogger("com.emmanuelarhu." + name));
+            String line = event.render();
+            switch (event.level) {
+                case ERROR:
+                    sink.error(line, event.error);
+                    break;
+                case WARN:
+                    sink.warn(line, event.error);
+                    break;
+                case INFO:
+                    sink.info(line, event.error);
+                    break;
+                case DEBUG:
+                    sink.debug(line, event.error);
+                    break;
+                default:
+                    sink.trace(line, event.error);
+            }
+            written.increment();
+        } catch (RuntimeException e) {
+            System.err.println("❌ Could not write log event: " + e);
+        }
+    }
+}
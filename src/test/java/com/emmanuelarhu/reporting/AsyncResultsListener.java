@@ -0,0 +1,46 @@
+package com.emmanuelarhu.reporting;
+
+import io.qameta.allure.Allure;
+import io.qameta.allure.AllureLifecycle;
+import io.qameta.allure.AllureResultsWriter;
+import io.qameta.allure.FileSystemResultsWriter;
+import org.testng.ISuite;
+import org.testng.ISuiteListener;
+
+import java.nio.file.Path;
+import java.nio.file.Paths;
+
+/**
+ * Makes Allure write through the {@link DedupingResultsWriter} attachment store and an {@link AsyncResultsWriter},
+ * and flushes it when the suite finishes. {@code AllureTestNg} captures the global lifecycle when it is
+ * constructed, so this listener must be registered before it (and before anything else touches Allure).
+ * Disable them with {@code -Dallure.dedupe=false} and {@code -Dallure.async=false}.
+ */
+public class AsyncResultsListener implements ISuiteListener {
+
+    private static final AsyncResultsWriter WRITER = install();
+
+    private static AsyncResultsWriter install() {
+        boolean dedupe = Boolean.parseBoolean(System.getProperty("allure.dedupe", "true"));
+        boolean async = Boolean.parseBoolean(System.getProperty("allure.async", "true"));
+        if (!dedupe && !async) {
+            return null;
+        }
+        // The same directory Allure's default writer uses
+        Path directory = Paths.get(System.getProperty("allure.results.directory", "allure-results"));
+        AllureResultsWriter writer = dedupe
+                ? DedupingResultsWriter.create(directory)
+                : new FileSystemResultsWriter(directory);
+        AsyncResultsWriter asyncWriter = async ? AsyncResultsWriter.create(writer) : null;
+        Allure.setLifecycle(new AllureLifecycle(async ? asyncWriter : writer));
+        return asyncWriter;
+    }
+
+    @Override
+    public void onFinish(ISuite suite) {
+        // Anything written after this (e.g. by listeners finishing later) is flushed by the shutdown hook
+        if (WRITER != null) {
+            WRITER.flush();
+        }
+    }
+}
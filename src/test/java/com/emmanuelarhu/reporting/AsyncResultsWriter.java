@@ -0,0 +1,204 @@
+package com.emmanuelarhu.reporting;
+
+import com.emmanuelarhu.base.RunReport;
+import io.qameta.allure.AllureResultsWriter;
+import io.qameta.allure.model.TestResult;
+import io.qameta.allure.model.TestResultContainer;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Allure results writer that takes file I/O off the test threads. Results, containers and attachments
+ * are queued and written in batches by one background thread through the wrapped writer (the
+ * {@link DedupingResultsWriter} in front of Allure's own {@code FileSystemResultsWriter}), so the files on
+ * disk are exactly what {@code allure generate} expects.
+ *
+ * The writer wakes every {@code allure.async.linger.millis} and writes whatever has queued up, so test
+ * threads never signal it. Memory is bounded twice: at most {@code allure.async.queue.capacity} queued
+ * writes and at most {@code allure.async.max.bytes} of queued attachment bytes. A test thread only waits
+ * when either limit is reached. {@link #flush()} blocks until everything queued so far is on disk; it runs
+ * at suite end and again from a shutdown hook.
+ */
+public final class AsyncResultsWriter implements AllureResultsWriter {
+
+    private static final int BATCH_SIZE = 256;
+
+    private final AllureResultsWriter delegate;
+    private final long lingerMillis;
+    private final BlockingQueue<Runnable> queue;
+    private final int maxBytes;
+    private final Semaphore bytes;
+    private final Thread worker;
+
+    private final LongAdder results = new LongAdder();
+    private final LongAdder containers = new LongAdder();
+    private final LongAdder attachments = new LongAdder();
+    private final LongAdder attachmentBytes = new LongAdder();
+    private final LongAdder enqueueNanos = new LongAdder();
+    private final LongAdder writeNanos = new LongAdder();
+    private final LongAdder batches = new LongAdder();
+    private final LongAdder written = new LongAdder();
+    private final LongAdder errors = new LongAdder();
+    private final AtomicInteger maxQueued = new AtomicInteger();
+    private volatile long lastFlushMillis;
+
+    AsyncResultsWriter(AllureResultsWriter delegate, long lingerMillis, int capacity, int maxBytes) {
+        this.delegate = delegate;
+        this.lingerMillis = lingerMillis;
+        this.queue = new ArrayBlockingQueue<>(capacity);
+        this.maxBytes = maxBytes;
+        this.bytes = new Semaphore(maxBytes);
+        this.worker = new Thread(this::drain, "allure-results-writer");
+        worker.setDaemon(true);
+        worker.start();
+        Runtime.getRuntime().addShutdownHook(new Thread(this::flush, "allure-results-flush"));
+        RunReport.register("Allure results writer", this::metrics);
+    }
+
+    /**
+     * @param delegate Writer that puts results on disk, called from the background thread only
+     * @return New writer with its own background thread
+     */
+    static AsyncResultsWriter create(AllureResultsWriter delegate) {
+        return new AsyncResultsWriter(delegate,
+                Long.getLong("allure.async.linger.millis", 200L),
+                Integer.getInteger("allure.async.queue.capacity", 1024),
+                Integer.getInteger("allure.async.max.bytes", 32 * 1024 * 1024));
+    }
+
+    @Override
+    public void write(TestResult testResult) {
+        results.increment();
+        enqueue(() -> delegate.write(testResult), 0);
+    }
+
+    @Override
+    public void write(TestResultContainer testResultContainer) {
+        containers.increment();
+        enqueue(() -> delegate.write(testResultContainer), 0);
+    }
+
+    @Override
+    public void write(String source, InputStream attachment) {
+        long start = System.nanoTime();
+        byte[] content;
+        try {
+            content = attachment.readAllBytes();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not read attachment " + source, e);
+        }
+        attachments.increment();
+        attachmentBytes.add(content.length);
+        enqueueNanos.add(System.nanoTime() - start);
+        enqueue(() -> delegate.write(source, new ByteArrayInputStream(content)), Math.min(content.length, maxBytes));
+    }
+
+    /**
+     * Block until every write queued before this call is on disk
+     */
+    public void flush() {
+        if (Thread.currentThread() == worker) {
+            return;
+        }
+        long start = System.nanoTime();
+        CountDownLatch flushed = new CountDownLatch(1);
+        putUninterruptibly(flushed::countDown);
+        LockSupport.unpark(worker); // Cut the linger short; an interrupt could close a file channel mid-write
+        boolean interrupted = false;
+        while (true) {
+            try {
+                flushed.await();
+                break;
+            } catch (InterruptedException e) {
+                interrupted = true;
+            }
+        }
+        lastFlushMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+        if (interrupted) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void enqueue(Runnable write, int size) {
+        long start = System.nanoTime();
+        bytes.acquireUninterruptibly(size);
+        putUninterruptibly(() -> {
+            try {
+                write.run();
+            } finally {
+                bytes.release(size);
+            }
+        });
+        enqueueNanos.add(System.nanoTime() - start);
+        maxQueued.accumulateAndGet(queue.size(), Math::max);
+    }
+
+    private void putUninterruptibly(Runnable task) {
+        boolean interrupted = false;
+        while (true) {
+            try {
+                queue.put(task);
+                break;
+            } catch (InterruptedException e) {
+                interrupted = true;
+            }
+        }
+        if (interrupted) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void drain() {
+        List<Runnable> batch = new ArrayList<>(BATCH_SIZE);
+        while (true) {
+            LockSupport.parkNanos(this, TimeUnit.MILLISECONDS.toNanos(lingerMillis));
+            while (queue.drainTo(batch, BATCH_SIZE) > 0) {
+                long start = System.nanoTime();
+                for (Runnable write : batch) {
+                    try {
+                        write.run();
+                        written.increment();
+                    } catch (RuntimeException e) {
+                        errors.increment();
+                        System.err.println("❌ Could not write Allure result: " + e.getMessage());
+                    }
+                }
+                writeNanos.add(System.nanoTime() - start);
+                batches.increment();
+                batch.clear();
+            }
+        }
+    }
+
+    private Map<String, Object> metrics() {
+        long tests = results.sum();
+        Map<String, Object> metrics = new LinkedHashMap<>();
+        metrics.put("results", tests);
+        metrics.put("containers", containers.sum());
+        metrics.put("attachments", attachments.sum());
+        metrics.put("attachmentBytes", attachmentBytes.sum());
+        metrics.put("batches", batches.sum());
+        metrics.put("meanBatchSize", String.format("%.1f", batches.sum() == 0 ? 0.0 : (double) written.sum() / batches.sum()));
+        metrics.put("maxQueued", maxQueued.get());
+        metrics.put("writeErrors", errors.sum());
+        metrics.put("backgroundWriteMillis", TimeUnit.NANOSECONDS.toMillis(writeNanos.sum()));
+        metrics.put("addedLatencyPerTestMicros", String.format("%.1f", tests == 0 ? 0.0 : enqueueNanos.sum() / 1000.0 / tests));
+        metrics.put("lastFlushMillis", lastFlushMillis);
+        return metrics;
+    }
+}
@@ -0,0 +1,188 @@
+package com.emmanuelarhu.reporting;
+
+import org.slf4j.event.Level;
+import org.slf4j.helpers.MarkerIgnoringBase;
+
+/**
+ * SLF4J logger handed out by {@link TestLog}: checks the level, then records the unformatted event, buffered with
+ * the running test's events or, for a run logger, written directly.
+ * A trailing {@link Throwable} argument is logged as the event's exception, as in SLF4J.
+ */
+final class BufferedLogger extends MarkerIgnoringBase {
+
+    private static final long serialVersionUID = 1L;
+
+    private final boolean direct;
+
+    BufferedLogger(String name, boolean direct) {
+        this.name = name;
+        this.direct = direct;
+    }
+
+    private void log(Level level, String format, Object[] arguments) {
+        if (!TestLog.isEnabled(level)) {
+            return;
+        }
+        Throwable error = null;
+        if (arguments != null && arguments.length > 0 && arguments[arguments.length - 1] instanceof Throwable) {
+            error = (Throwable) arguments[arguments.length - 1];
+        }
+        TestLog.record(level, name, format, arguments, error, direct);
+    }
+
+    @Override
+    public boolean isTraceEnabled() {
+        return TestLog.isEnabled(Level.TRACE);
+    }
+
+    @Override
+    public void trace(String msg) {
+        log(Level.TRACE, msg, null);
+    }
+
+    @Override
+    public void trace(String format, Object arg) {
+        log(Level.TRACE, format, new Object[]{arg});
+    }
+
+    @Override
+    public void trace(String format, Object arg1, Object arg2) {
+        log(Level.TRACE, format, new Object[]{arg1, arg2});
+    }
+
+    @Override
+    public void trace(String format, Object... arguments) {
+        log(Level.TRACE, format, arguments);
+    }
+
+    @Override
+    public void trace(String msg, Throwable t) {
+        if (TestLog.isEnabled(Level.TRACE)) {
+            TestLog.record(Level.TRACE, name, msg, null, t, direct);
+        }
+    }
+    @Override
+    public boolean isDebugEnabled() {
+        return TestLog.isEnabled(Level.DEBUG);
+    }
+
+    @Override
+    public void debug(String msg) {
+        log(Level.DEBUG, msg, null);
+    }
+
+    @Override
+    public void debug(String format, Object arg) {
+        log(Level.DEBUG, format, new Object[]{arg});
+    }
+
+    @Override
+    public void debug(String format, Object arg1, Object arg2) {
+        log(Level.DEBUG, format, new Object[]{arg1, arg2});
+    }
+
+    @Override
+    public void debug(String format, Object... arguments) {
+        log(Level.DEBUG, format, arguments);
+    }
+
+    @Override
+    public void debug(String msg, Throwable t) {
+        if (TestLog.isEnabled(Level.DEBUG)) {
+            TestLog.record(Level.DEBUG, name, msg, null, t, direct);
+        }
+    }
+    @Override
+    public boolean isInfoEnabled() {
+        return TestLog.isEnabled(Level.INFO);
+    }
+
+    @Override
+    public void info(String msg) {
+        log(Level.INFO, msg, null);
+    }
+
+    @Override
+    public void info(String format, Object arg) {
+        log(Level.INFO, format, new Object[]{arg});
+    }
+
+    @Override
+    public void info(String format, Object arg1, Object arg2) {
+        log(Level.INFO, format, new Object[]{arg1, arg2});
+    }
+
+    @Override
+    public void info(String format, Object... arguments) {
+        log(Level.INFO, format, arguments);
+    }
+
+    @Override
+    public void info(String msg, Throwable t) {
+        if (TestLog.isEnabled(Level.INFO)) {
+            TestLog.record(Level.INFO, name, msg, null, t, direct);
+        }
+    }
+    @Override
+    public boolean isWarnEnabled() {
+        return TestLog.isEnabled(Level.WARN);
+    }
+
+    @Override
+    public void warn(String msg) {
+        log(Level.WARN, msg, null);
+    }
+
+    @Override
+    public void warn(String format, Object arg) {
+        log(Level.WARN, format, new Object[]{arg});
+    }
+
+    @Override
+    public void warn(String format, Object arg1, Object arg2) {
+        log(Level.WARN, format, new Object[]{arg1, arg2});
+    }
+
+    @Override
+    public void warn(String format, Object... arguments) {
+        log(Level.WARN, format, arguments);
+    }
+
+    @Override
+    public void warn(String msg, Throwable t) {
+        if (TestLog.isEnabled(Level.WARN)) {
+            TestLog.record(Level.WARN, name, msg, null, t, direct);
+        }
+    }
+    @Override
+    public boolean isErrorEnabled() {
+        return TestLog.isEnabled(Level.ERROR);
+    }
+
+    @Override
+    public void error(String msg) {
+        log(Level.ERROR, msg, null);
+    }
+
+    @Override
+    public void error(String format, Object arg) {
+        log(Level.ERROR, format, new Object[]{arg});
+    }
+
+    @Override
+    public void error(String format, Object arg1, Object arg2) {
+        log(Level.ERROR, format, new Object[]{arg1, arg2});
+    }
+
+    @Override
+    public void error(String format, Object... arguments) {
+        log(Level.ERROR, format, arguments);
+    }
+
+    @Override
+    public void error(String msg, Throwable t) {
+        if (TestLog.isEnabled(Level.ERROR)) {
+            TestLog.record(Level.ERROR, name, msg, null, t, direct);
+        }
+    }
+}
@@ -0,0 +1,39 @@
+package com.emmanuelarhu.reporting;
+
+import org.testng.IInvokedMethod;
+import org.testng.IInvokedMethodListener;
+import org.testng.ISuite;
+import org.testng.ISuiteListener;
+import org.testng.ITestNGMethod;
+import org.testng.ITestResult;
+
+/**
+ * Opens a {@link RequestCapture} buffer and a {@link TestLog} ring for each test invocation and writes them out
+ * once the outcome is known, while the Allure test case is still open so the attachments land on the right test.
+ * Flushes the log appender when the suite finishes.
+ */
+public class CaptureListener implements IInvokedMethodListener, ISuiteListener {
+
+    @Override
+    public void beforeInvocation(IInvokedMethod method, ITestResult testResult) {
+        if (method.isTestMethod()) {
+            ITestNGMethod test = method.getTestMethod();
+            TestLog.begin(test.getRealClass().getSimpleName() + "." + test.getMethodName());
+            RequestCapture.begin();
+        }
+    }
+
+    @Override
+    public void afterInvocation(IInvokedMethod method, ITestResult testResult) {
+        if (method.isTestMethod()) {
+            boolean failed = testResult.getStatus() == ITestResult.FAILURE;
+            TestLog.end(failed);
+            RequestCapture.end(failed);
+        }
+    }
+
+    @Override
+    public void onFinish(ISuite suite) {
+        TestLog.flush();
+    }
+}
@@ -0,0 +1,179 @@
+package com.emmanuelarhu.reporting;
+
+import com.emmanuelarhu.base.RunReport;
+import io.qameta.allure.AllureResultsWriter;
+import io.qameta.allure.AllureResultsWriteException;
+import io.qameta.allure.FileSystemResultsWriter;
+import io.qameta.allure.model.Attachment;
+import io.qameta.allure.model.FixtureResult;
+import io.qameta.allure.model.StepResult;
+import io.qameta.allure.model.TestResult;
+import io.qameta.allure.model.TestResultContainer;
+import io.qameta.allure.model.WithAttachments;
+import io.qameta.allure.model.WithSteps;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Content-addressed attachment store in front of Allure's results writer. Each attachment is named after
+ * the SHA-256 of its content and written once, however many tests attach the same bytes (and not at all
+ * if an earlier run already left it in the results directory); results and containers are rewritten to
+ * reference the shared file before they are written.
+ *
+ * Allure writes an attachment before the result that references it, so the rename is always known in time.
+ * Attachments of at least {@code allure.attachments.gzip.min.bytes} are stored gzip-compressed (off by
+ * default: the report then offers them as {@code .gz} downloads instead of showing them inline).
+ */
+public final class DedupingResultsWriter implements AllureResultsWriter {
+
+    private static final String SUFFIX = "-attachment";
+
+    private final AllureResultsWriter delegate;
+    private final Path directory;
+    private final int gzipMinBytes;
+
+    private final Set<String> stored = ConcurrentHashMap.newKeySet();
+    private final Map<String, Attachment> renamed = new ConcurrentHashMap<>();
+
+    private final LongAdder attachments = new LongAdder();
+    private final LongAdder unique = new LongAdder();
+    private final LongAdder fromEarlierRuns = new LongAdder();
+    private final LongAdder compressed = new LongAdder();
+    private final LongAdder bytesIn = new LongAdder();
+    private final LongAdder bytesWritten = new LongAdder();
+
+    DedupingResultsWriter(AllureResultsWriter delegate, Path directory, int gzipMinBytes) {
+        this.delegate = delegate;
+        this.directory = directory;
+        this.gzipMinBytes = gzipMinBytes;
+        RunReport.register("Allure attachment store", this::metrics);
+    }
+
+    /**
+     * Store in front of Allure's own writer for {@code directory}
+     * @param directory Allure results directory
+     * @return New store
+     */
+    static DedupingResultsWriter create(Path directory) {
+        return new DedupingResultsWriter(new FileSystemResultsWriter(directory), directory,
+                Integer.getInteger("allure.attachments.gzip.min.bytes", 0));
+    }
+
+    @Override
+    public void write(TestResult testResult) {
+        rewrite(testResult);
+        delegate.write(testResult);
+    }
+
+    @Override
+    public void write(TestResultContainer testResultContainer) {
+        for (FixtureResult fixture : testResultContainer.getBefores()) {
+            rewrite(fixture);
+        }
+        for (FixtureResult fixture : testResultContainer.getAfters()) {
+            rewrite(fixture);
+        }
+        delegate.write(testResultContainer);
+    }
+
+    @Override
+    public void write(String source, InputStream attachment) {
+        byte[] content;
+        try {
+            content = attachment.readAllBytes();
+        } catch (IOException e) {
+            throw new AllureResultsWriteException("Could not read attachment " + source, e);
+        }
+        attachments.increment();
+        bytesIn.add(content.length);
+
+        // Keep Allure's "-attachment.<ext>" naming so the results directory stays recognisable
+        int suffix = source.lastIndexOf(SUFFIX);
+        String extension = suffix < 0 ? "" : source.substring(suffix + SUFFIX.length());
+        boolean gzip = gzipMinBytes > 0 && content.length >= gzipMinBytes;
+        String name = sha256(content) + SUFFIX + extension + (gzip ? ".gz" : "");
+        renamed.put(source, new Attachment().setSource(name).setType(gzip ? "application/gzip" : null));
+
+        if (!stored.add(name)) {
+            return;
+        }
+        if (Files.exists(directory.resolve(name))) {
+            fromEarlierRuns.increment();
+        } else {
+            byte[] bytes = gzip ? gzip(content) : content;
+            if (gzip) {
+                compressed.increment();
+            }
+            unique.increment();
+            bytesWritten.add(bytes.length);
+            delegate.write(name, new ByteArrayInputStream(bytes));
+        }
+    }
+
+    private void rewrite(Object node) {
+        if (node instanceof WithAttachments) {
+            for (Attachment attachment : ((WithAttachments) node).getAttachments()) {
+                Attachment target = renamed.remove(attachment.getSource());
+                if (target != null) {
+                    attachment.setSource(target.getSource());
+                    if (target.getType() != null) {
+                        attachment.setType(target.getType());
+                    }
+                }
+            }
+        }
+        if (node instanceof WithSteps) {
+            for (StepResult step : ((WithSteps) node).getSteps()) {
+                rewrite(step);
+            }
+        }
+    }
+
+    private static String sha256(byte[] content) {
+        try {
+            return HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(content));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is required on every Java platform", e);
+        }
+    }
+
+    private static byte[] gzip(byte[] content) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(content.length / 4);
+        try (GZIPOutputStream gzip = new GZIPOutputStream(out)) {
+            gzip.write(content);
+        } catch (IOException e) {
+            throw new AllureResultsWriteException("Could not compress attachment", e);
+        }
+        return out.toByteArray();
+    }
+
+    private Map<String, Object> metrics() {
+        long in = bytesIn.sum();
+        long written = bytesWritten.sum();
+        Map<String, Object> metrics = new LinkedHashMap<>();
+        metrics.put("attachments", attachments.sum());
+        metrics.put("uniqueWritten", unique.sum());
+        metrics.put("reusedFromEarlierRuns", fromEarlierRuns.sum());
+        metrics.put("compressed", compressed.sum());
+        metrics.put("bytesAttached", in);
+        metrics.put("bytesWritten", written);
+        long distinct = unique.sum() + fromEarlierRuns.sum();
+        metrics.put("dedupeRatio", String.format("%.2f", distinct == 0 ? 1.0 : (double) attachments.sum() / distinct));
+        metrics.put("byteRatio", String.format("%.2f", written == 0 ? 1.0 : (double) in / written));
+        return metrics;
+    }
+}
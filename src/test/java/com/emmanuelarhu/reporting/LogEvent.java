@@ -0,0 +1,57 @@
+package com.emmanuelarhu.reporting;
+
+import org.slf4j.event.Level;
+import org.slf4j.helpers.MessageFormatter;
+
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.format.DateTimeFormatter;
+
+/**
+ * One log event as captured on the test thread. The message is formatted only when the event is written,
+ * so arguments should be values that do not change afterwards (strings, numbers, status codes).
+ */
+final class LogEvent {
+
+    private static final DateTimeFormatter TIME = DateTimeFormatter.ofPattern("HH:mm:ss.SSS").withZone(ZoneId.systemDefault());
+
+    final long timeMillis;
+    final Level level;
+    final String thread;
+    final String test;
+    final String logger;
+    final String format;
+    final Object[] arguments;
+    final Throwable error;
+
+    LogEvent(long timeMillis, Level level, String thread, String test, String logger, String format,
+             Object[] arguments, Throwable error) {
+        this.timeMillis = timeMillis;
+        this.level = level;
+        this.thread = thread;
+        this.test = test;
+        this.logger = logger;
+        this.format = format;
+        this.arguments = arguments;
+        this.error = error;
+    }
+
+    static LogEvent marker(Level level, String test, String message) {
+        return new LogEvent(System.currentTimeMillis(), level, Thread.currentThread().getName(), test,
+                TestLog.class.getSimpleName(), message, null, null);
+    }
+
+    /**
+     * @return {@code time=... thread=... test=... msg} line, the fields the console sink does not add itself
+     */
+    String render() {
+        StringBuilder line = new StringBuilder(96)
+                .append("time=").append(TIME.format(Instant.ofEpochMilli(timeMillis)))
+                .append(" thread=").append(thread);
+        if (test != null) {
+            line.append(" test=").append(test);
+        }
+        String message = arguments == null ? format : MessageFormatter.arrayFormat(format, arguments).getMessage();
+        return line.append(" | ").append(message).toString();
+    }
+}
@@ -0,0 +1,318 @@
+package com.emmanuelarhu.reporting;
+
+import com.emmanuelarhu.base.HttpMessages;
+import com.emmanuelarhu.base.RequestPhases;
+import com.emmanuelarhu.base.RunReport;
+import io.qameta.allure.Allure;
+import io.qameta.allure.attachment.DefaultAttachmentProcessor;
+import io.qameta.allure.attachment.FreemarkerAttachmentRenderer;
+import io.qameta.allure.attachment.http.HttpRequestAttachment;
+import io.qameta.allure.attachment.http.HttpResponseAttachment;
+import io.restassured.http.Headers;
+import io.restassured.internal.support.Prettifier;
+import io.restassured.parsing.Parser;
+import io.restassured.response.Response;
+import io.restassured.specification.FilterableRequestSpecification;
+import org.slf4j.Logger;
+
+import java.io.ByteArrayOutputStream;
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Decides when request/response exchanges reach the Allure report and the console.
+ * {@code report.capture=all} attaches every exchange as it happens and logs straight to stdout.
+ * {@code report.capture=failures} (the default) keeps each test's exchanges and REST Assured log output
+ * in a per-test buffer of at most {@code report.capture.buffer.bytes}, and only writes them when the test
+ * fails, or for {@code report.capture.sample.percent} of passing tests. Either way bodies are cut to
+ * {@code report.capture.max.body.bytes}.
+ *
+ * Each exchange is written as an Allure step holding the request and response attachments, with the
+ * request's {@link RequestPhases} timings as step parameters.
+ */
+public final class RequestCapture {
+
+    private static final boolean BUFFERED = !"all".equalsIgnoreCase(System.getProperty("report.capture", "failures"));
+    private static final double SAMPLE_PERCENT = Double.parseDouble(System.getProperty("report.capture.sample.percent", "0"));
+    private static final int MAX_BODY_BYTES = Integer.getInteger("report.capture.max.body.bytes", 8192);
+    private static final int BUFFER_BYTES = Integer.getInteger("report.capture.buffer.bytes", 256 * 1024);
+
+    private static final ThreadLocal<TestCapture> CURRENT = new ThreadLocal<>();
+    private static final Logger LOG = TestLog.getLogger(RequestCapture.class);
+
+    /** REST Assured log stream: routed into the running test's buffer, or straight to stdout */
+    private static final PrintStream CONSOLE = new PrintStream(new OutputStream() {
+        @Override
+        public void write(int b) {
+            write(new byte[]{(byte) b}, 0, 1);
+        }
+
+        @Override
+        public void write(byte[] bytes, int offset, int length) {
+            TestCapture capture = CURRENT.get();
+            if (capture == null) {
+                System.out.write(bytes, offset, length);
+            } else {
+                capture.log(bytes, offset, length);
+            }
+        }
+
+        @Override
+        public void flush() {
+            System.out.flush();
+        }
+    }, true, StandardCharsets.UTF_8);
+
+    private static final LongAdder tests = new LongAdder();
+    private static final LongAdder testsWritten = new LongAdder();
+    private static final LongAdder exchanges = new LongAdder();
+    private static final LongAdder exchangesWritten = new LongAdder();
+    private static final LongAdder exchangesDropped = new LongAdder();
+    private static final LongAdder bodiesTruncated = new LongAdder();
+    private static final LongAdder consoleBytes = new LongAdder();
+    private static final LongAdder consoleBytesWritten = new LongAdder();
+
+    static {
+        RunReport.register("Request capture", RequestCapture::metrics);
+    }
+
+    private RequestCapture() {}
+
+    /**
+     * @return true when exchanges are held until the test outcome is known
+     */
+    public static boolean buffered() {
+        return BUFFERED;
+    }
+
+    /**
+     * @return stream for REST Assured's {@code LogConfig}, so {@code .log()} output is buffered per test too
+     */
+    public static PrintStream console() {
+        return CONSOLE;
+    }
+
+    /**
+     * Record one exchange: attached right away with {@code report.capture=all}, otherwise buffered
+     * for the running test. Buffered exchanges outside any test are dropped.
+     * @param requestSpec Request as sent
+     * @param response Response, or null if the request failed
+     * @param error Why there is no response, or null
+     * @param phases Where the request's time went
+     */
+    public static void record(FilterableRequestSpecification requestSpec, Response response, Throwable error,
+                              RequestPhases phases) {
+        exchanges.increment();
+        if (LOG.isDebugEnabled()) {
+            LOG.debug("{} {} -> {}", requestSpec.getMethod(), requestSpec.getURI(),
+                    response == null ? "No response" : response.getStatusLine());
+        }
+        TestCapture capture = CURRENT.get();
+        if (BUFFERED && capture == null) {
+            exchangesDropped.increment(); // Outside a test, e.g. a load run: nothing to attach to, so nothing to copy
+            return;
+        }
+        Exchange exchange = new Exchange(requestSpec, response, error, phases);
+        if (!BUFFERED) {
+            exchange.attach();
+            exchangesWritten.increment();
+            return;
+        }
+        if (!capture.add(exchange)) {
+            exchangesDropped.increment();
+        }
+    }
+
+    static void begin() {
+        if (BUFFERED) {
+            CURRENT.set(new TestCapture());
+        }
+    }
+
+    static void end(boolean failed) {
+        TestCapture capture = CURRENT.get();
+        if (capture == null) {
+            return;
+        }
+        CURRENT.remove();
+        tests.increment();
+        if (failed || (SAMPLE_PERCENT > 0 && ThreadLocalRandom.current().nextDouble(100.0) < SAMPLE_PERCENT)) {
+            testsWritten.increment();
+            capture.write();
+        }
+    }
+
+    private static String cap(byte[] body) {
+        if (body == null) {
+            return null;
+        }
+        if (body.length <= MAX_BODY_BYTES) {
+            return new String(body, StandardCharsets.UTF_8);
+        }
+        bodiesTruncated.increment();
+        return new String(body, 0, MAX_BODY_BYTES, StandardCharsets.UTF_8)
+                + "\n... [" + (body.length - MAX_BODY_BYTES) + " more bytes not captured]";
+    }
+
+    private static Map<String, String> toMap(Headers headers) {
+        Map<String, String> map = new HashMap<>();
+        headers.forEach(header -> map.put(header.getName(), header.getValue()));
+        return map;
+    }
+
+    private static Map<String, Object> metrics() {
+        Map<String, Object> metrics = new LinkedHashMap<>();
+        metrics.put("mode", BUFFERED ? "failures" : "all");
+        metrics.put("samplePercent", SAMPLE_PERCENT);
+        metrics.put("maxBodyBytes", MAX_BODY_BYTES);
+        metrics.put("exchanges", exchanges.sum());
+        metrics.put("exchangesWritten", exchangesWritten.sum());
+        metrics.put("exchangesDropped", exchangesDropped.sum());
+        metrics.put("bodiesTruncated", bodiesTruncated.sum());
+        if (BUFFERED) {
+            metrics.put("tests", tests.sum());
+            metrics.put("testsWritten", testsWritten.sum());
+            metrics.put("consoleBytesBuffered", consoleBytes.sum());
+            metrics.put("consoleBytesWritten", consoleBytesWritten.sum());
+        }
+        return metrics;
+    }
+
+    /** One request and its response, bodies already capped */
+    private static final class Exchange {
+        final String method;
+        final String uri;
+        final Map<String, String> requestHeaders;
+        final String requestBody;
+        final String requestContentType;
+        final String statusLine;
+        final int statusCode;
+        final Map<String, String> responseHeaders;
+        final String responseBody;
+        final String responseContentType;
+        final Map<String, BigDecimal> phaseMillis;
+        final String connection;
+
+        Exchange(FilterableRequestSpecification requestSpec, Response response, Throwable error, RequestPhases phases) {
+            this.method = requestSpec.getMethod();
+            this.phaseMillis = phases.millis();
+            this.connection = phases.connection();
+            this.uri = requestSpec.getURI();
+            this.requestHeaders = toMap(requestSpec.getHeaders());
+            this.requestBody = cap(HttpMessages.requestBody(requestSpec));
+            this.requestContentType = requestSpec.getContentType();
+            if (response != null) {
+                this.statusLine = response.getStatusLine() != null ? response.getStatusLine() : "Response";
+                this.statusCode = response.getStatusCode();
+                this.responseHeaders = toMap(response.getHeaders());
+                this.responseBody = cap(response.asByteArray());
+                this.responseContentType = response.getContentType();
+            } else {
+                this.statusLine = "No response";
+                this.statusCode = 0;
+                this.responseHeaders = Map.of();
+                this.responseBody = String.valueOf(error);
+                this.responseContentType = null;
+            }
+        }
+
+        int size() {
+            return (requestBody == null ? 0 : requestBody.length()) + (responseBody == null ? 0 : responseBody.length())
+                    + uri.length();
+        }
+
+        // One step per exchange, timings as parameters; none when the response came from a cache or cassette
+        void attach() {
+            Allure.step(method + " " + uri, step -> {
+                step.parameter("status", statusLine);
+                if (connection != null && phaseMillis.containsKey(RequestPhases.Phase.TTFB.label())) {
+                    step.parameter("connection", connection);
+                }
+                phaseMillis.forEach((phase, millis) -> step.parameter(phase, millis + " ms"));
+                attachExchange();
+            });
+        }
+
+        // Same attachments and templates as AllureRestAssured
+        private void attachExchange() {
+            HttpRequestAttachment.Builder request = HttpRequestAttachment.Builder.create("Request", uri)
+                    .setMethod(method)
+                    .setHeaders(requestHeaders);
+            if (requestBody != null) { // The builders reject null bodies
+                request.setBody(prettify(requestBody, requestContentType));
+            }
+            new DefaultAttachmentProcessor().addAttachment(request.build(),
+                    new FreemarkerAttachmentRenderer("http-request.ftl"));
+            HttpResponseAttachment.Builder response = HttpResponseAttachment.Builder.create(statusLine)
+                    .setResponseCode(statusCode)
+                    .setHeaders(responseHeaders);
+            if (responseBody != null) {
+                response.setBody(prettify(responseBody, responseContentType));
+            }
+            new DefaultAttachmentProcessor().addAttachment(response.build(),
+                    new FreemarkerAttachmentRenderer("http-response.ftl"));
+        }
+
+        private static String prettify(String body, String contentType) {
+            if (contentType == null || contentType.isEmpty()) {
+                return body;
+            }
+            try {
+                return new Prettifier().prettify(body, Parser.fromContentType(contentType));
+            } catch (RuntimeException e) {
+                return body; // Truncated or malformed bodies are shown as they are
+            }
+        }
+    }
+
+    /** Exchanges and log output of the test running on this thread, bounded by {@code report.capture.buffer.bytes} */
+    private static final class TestCapture {
+        private final List<Exchange> exchanges = new ArrayList<>();
+        private final ByteArrayOutputStream log = new ByteArrayOutputStream();
+        private int bytes;
+        private boolean logTruncated;
+
+        boolean add(Exchange exchange) {
+            if (bytes + exchange.size() > BUFFER_BYTES && !exchanges.isEmpty()) {
+                return false;
+            }
+            bytes += exchange.size();
+            exchanges.add(exchange);
+            return true;
+        }
+
+        void log(byte[] data, int offset, int length) {
+            consoleBytes.add(length);
+            int room = Math.min(length, BUFFER_BYTES - bytes);
+            if (room > 0) {
+                log.write(data, offset, room);
+                bytes += room;
+            }
+            logTruncated |= room < length;
+        }
+
+        void write() {
+            for (Exchange exchange : exchanges) {
+                exchange.attach();
+                exchangesWritten.increment();
+            }
+            if (log.size() > 0) {
+                System.out.write(log.toByteArray(), 0, log.size());
+                if (logTruncated) {
+                    System.out.println("... [log output beyond " + BUFFER_BYTES + " bytes not captured]");
+                }
+                System.out.flush();
+                consoleBytesWritten.add(log.size());
+            }
+        }
+    }
+}
@@ -0,0 +1,160 @@
+package com.emmanuelarhu.reporting;
+
+import com.emmanuelarhu.base.RunReport;
+import org.slf4j.Logger;
+import org.slf4j.event.Level;
+
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Structured logging for the test path. Loggers from {@link #getLogger(Class)} are plain SLF4J loggers:
+ * events below {@code log.level} (default {@code INFO}) cost one comparison and are never formatted.
+ *
+ * With {@code report.capture=failures} (the default) events logged while a test runs go to a per-test
+ * ring buffer of the last {@code log.ring.size} events, which is dumped only if the test fails; events outside
+ * tests, and every event with {@code report.capture=all}, go straight to the {@link AsyncLogAppender}. Either
+ * way formatting and console I/O happen on the appender's thread, never on a test thread. Loggers from
+ * {@link #getRunLogger(Class)} are for events about the run rather than the test, such as a circuit breaker
+ * opening, and are never buffered, since a passing test's buffer is dropped.
+ */
+public final class TestLog {
+
+    private static final Level LEVEL = Level.valueOf(System.getProperty("log.level", "INFO").toUpperCase(Locale.ROOT));
+    private static final int RING_SIZE = Integer.getInteger("log.ring.size", 256);
+    // The first events pay for class loading and the interpreter; they are left out of the per-event cost
+    private static final long WARM_UP_EVENTS = 200;
+
+    private static final AsyncLogAppender APPENDER = new AsyncLogAppender(Integer.getInteger("log.async.queue.capacity", 8192));
+    private static final ThreadLocal<Ring> CURRENT = new ThreadLocal<>();
+
+    private static final LongAdder events = new LongAdder();
+    private static final LongAdder buffered = new LongAdder();
+    private static final LongAdder overwritten = new LongAdder();
+    private static final LongAdder testsDumped = new LongAdder();
+    private static final LongAdder recordNanos = new LongAdder();
+    private static final LongAdder timedEvents = new LongAdder();
+    private static volatile boolean warmedUp;
+
+    static {
+        RunReport.register("Logging", TestLog::metrics);
+    }
+
+    private TestLog() {}
+
+    /**
+     * @param type Class the events come from, shown by its simple name
+     * @return logger for {@code type}
+     */
+    public static Logger getLogger(Class<?> type) {
+        return new BufferedLogger(type.getSimpleName(), false);
+    }
+
+    /**
+     * @param type Class the events come from, shown by its simple name
+     * @return logger for {@code type} whose events are written even when the test they happen in passes
+     */
+    public static Logger getRunLogger(Class<?> type) {
+        return new BufferedLogger(type.getSimpleName(), true);
+    }
+
+    static boolean isEnabled(Level level) {
+        return level.toInt() >= LEVEL.toInt();
+    }
+
+    static void record(Level level, String logger, String format, Object[] arguments, Throwable error, boolean direct) {
+        long start = System.nanoTime();
+        events.increment();
+        Ring ring = CURRENT.get();
+        LogEvent event = new LogEvent(System.currentTimeMillis(), level, Thread.currentThread().getName(),
+                ring == null ? null : ring.test, logger, format, arguments, error);
+        if (ring != null && !direct) {
+            buffered.increment();
+            ring.add(event);
+        } else {
+            APPENDER.append(event);
+        }
+        long elapsed = System.nanoTime() - start;
+        if (warmedUp || (warmedUp = events.sum() > WARM_UP_EVENTS)) {
+            recordNanos.add(elapsed);
+            timedEvents.increment();
+        }
+    }
+
+    /**
+     * Start buffering this thread's events for a test, unless every event is written as it happens
+     * @param test Test name added to each event
+     */
+    public static void begin(String test) {
+        if (RequestCapture.buffered()) {
+            CURRENT.set(new Ring(test));
+        }
+    }
+
+    /**
+     * Stop buffering and dump the test's events if it failed
+     * @param failed Whether the test failed
+     */
+    public static void end(boolean failed) {
+        Ring ring = CURRENT.get();
+        if (ring == null) {
+            return;
+        }
+        CURRENT.remove();
+        if (failed && ring.count > 0) {
+            testsDumped.increment();
+            ring.dump();
+        }
+    }
+
+    /**
+     * Block until every event appended so far is written
+     */
+    static void flush() {
+        APPENDER.flush();
+    }
+
+    private static Map<String, Object> metrics() {
+        long total = events.sum();
+        Map<String, Object> metrics = new LinkedHashMap<>();
+        metrics.put("level", LEVEL);
+        metrics.put("mode", RequestCapture.buffered() ? "ring buffer per test, dumped on failure" : "direct");
+        metrics.put("events", total);
+        metrics.put("bufferedInTests", buffered.sum());
+        metrics.put("ringOverwrites", overwritten.sum());
+        metrics.put("testsDumped", testsDumped.sum());
+        long timed = timedEvents.sum();
+        metrics.put("recordNanosPerEvent", timed == 0 ? "-" : recordNanos.sum() / timed);
+        metrics.putAll(APPENDER.metrics());
+        return metrics;
+    }
+
+    /** The last {@code log.ring.size} events of the test running on this thread */
+    private static final class Ring {
+        final String test;
+        final LogEvent[] events = new LogEvent[RING_SIZE];
+        long count;
+
+        Ring(String test) {
+            this.test = test;
+        }
+
+        void add(LogEvent event) {
+            if (count >= events.length) {
+                overwritten.increment();
+            }
+            events[(int) (count++ % events.length)] = event;
+        }
+
+        void dump() {
+            long first = Math.max(0, count - events.length);
+            APPENDER.append(LogEvent.marker(Level.WARN, test, "Test failed, its last " + (count - first)
+                    + " log events follow" + (first > 0 ? " (" + first + " earlier events not kept)" : "")));
+            for (long i = first; i < count; i++) {
+                APPENDER.append(events[(int) (i % events.length)]);
+            }
+        }
+    }
+}
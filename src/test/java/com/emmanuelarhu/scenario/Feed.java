@@ -0,0 +1,99 @@
+package com.emmanuelarhu.scenario;
+
+import org.testng.annotations.DataProvider;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.util.Arrays;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Test data for journeys, taken from one of the existing TestNG data providers. Each journey draws the next
+ * row, in order and wrapping around, or at random with {@link #random()}; the row's columns are stored in the
+ * journey's {@link Session} under the names given to {@link #of}. Rows are read once and shared by every thread.
+ */
+public final class Feed {
+
+    private final String name;
+    private final String[] columns;
+    private final Object[][] rows;
+    private final AtomicLong next = new AtomicLong();
+    private boolean random;
+
+    private Feed(String name, String[] columns, Object[][] rows) {
+        this.name = name;
+        this.columns = columns;
+        this.rows = rows;
+    }
+
+    /**
+     * @param providerClass Class declaring the data provider, e.g. {@code AuthTestDataProvider.class}
+     * @param provider Data provider name (or method name), e.g. {@code "validLoginCredentials"}
+     * @param columns Session key for each column of a row, in order
+     * @return feed over the provider's rows
+     * @throws IllegalArgumentException if there is no such provider, it has no rows or a row is too short
+     */
+    public static Feed of(Class<?> providerClass, String provider, String... columns) {
+        Method method = Arrays.stream(providerClass.getMethods())
+                .filter(candidate -> candidate.getParameterCount() == 0 && candidate.getReturnType() == Object[][].class)
+                .filter(candidate -> candidate.getName().equals(provider) || (candidate.isAnnotationPresent(DataProvider.class)
+                        && candidate.getAnnotation(DataProvider.class).name().equals(provider)))
+                .findFirst()
+                .orElseThrow(() -> new IllegalArgumentException(
+                        "No Object[][] data provider '" + provider + "' on " + providerClass.getSimpleName()));
+        Object[][] rows;
+        try {
+            rows = (Object[][]) method.invoke(providerClass.getDeclaredConstructor().newInstance());
+        } catch (ReflectiveOperationException e) {
+            Throwable cause = e instanceof InvocationTargetException ? e.getCause() : e;
+            throw new IllegalArgumentException("Could not read data provider " + providerClass.getSimpleName() + "."
+                    + provider, cause);
+        }
+        String name = providerClass.getSimpleName() + "." + provider;
+        if (rows.length == 0) {
+            throw new IllegalArgumentException("Data provider " + name + " has no rows");
+        }
+        for (Object[] row : rows) {
+            if (row.length < columns.length) {
+                throw new IllegalArgumentException("Data provider " + name + " has a row with " + row.length
+                        + " columns, " + columns.length + " named");
+            }
+        }
+        return new Feed(name, columns.clone(), rows);
+    }
+
+    /**
+     * Draw rows at random instead of in order
+     * @return this feed
+     */
+    public Feed random() {
+        this.random = true;
+        return this;
+    }
+
+    /**
+     * @return number of rows
+     */
+    public int size() {
+        return rows.length;
+    }
+
+    /**
+     * Store the next row's columns in the session
+     * @param session Journey to feed
+     */
+    void feed(Session session) {
+        Object[] row = rows[random
+                ? ThreadLocalRandom.current().nextInt(rows.length)
+                : (int) (next.getAndIncrement() % rows.length)];
+        for (int i = 0; i < columns.length; i++) {
+            session.put(columns[i], row[i]);
+        }
+    }
+
+    @Override
+    public String toString() {
+        return name;
+    }
+}
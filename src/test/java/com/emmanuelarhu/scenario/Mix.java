@@ -0,0 +1,74 @@
+package com.emmanuelarhu.scenario;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * A weighted mix of scenarios, e.g. 70 browsing journeys to every 30 buying ones. Each {@link #run()} picks one
+ * scenario at random in proportion to its weight, so a load run of a single test method that runs the mix
+ * reproduces the production blend of journeys.
+ */
+public final class Mix {
+
+    private final String name;
+    private final List<Scenario> scenarios = new ArrayList<>();
+    private final List<Integer> cumulativeWeights = new ArrayList<>();
+    private int totalWeight;
+
+    private Mix(String name) {
+        this.name = name;
+    }
+
+    /**
+     * @param name Mix name, used in the log
+     * @return empty mix to add weighted scenarios to
+     */
+    public static Mix named(String name) {
+        return new Mix(name);
+    }
+
+    /**
+     * @param weight Relative share of journeys following {@code scenario}
+     * @param scenario Scenario to add
+     * @return this mix
+     */
+    public Mix add(int weight, Scenario scenario) {
+        if (weight <= 0) {
+            throw new IllegalArgumentException("Weight of " + scenario + " in " + name + " must be positive: " + weight);
+        }
+        totalWeight += weight;
+        scenarios.add(scenario);
+        cumulativeWeights.add(totalWeight);
+        return this;
+    }
+
+    /**
+     * @return a scenario drawn in proportion to the weights
+     */
+    public Scenario pick() {
+        if (scenarios.isEmpty()) {
+            throw new IllegalStateException("Mix " + name + " has no scenarios");
+        }
+        int ticket = ThreadLocalRandom.current().nextInt(totalWeight);
+        for (int i = 0; i < scenarios.size(); i++) {
+            if (ticket < cumulativeWeights.get(i)) {
+                return scenarios.get(i);
+            }
+        }
+        throw new IllegalStateException("Unreachable: ticket " + ticket + " of " + totalWeight);
+    }
+
+    /**
+     * Run one journey of a scenario drawn from the mix
+     * @return the journey's session
+     */
+    public Session run() {
+        return pick().run();
+    }
+
+    @Override
+    public String toString() {
+        return name;
+    }
+}
@@ -0,0 +1,191 @@
+package com.emmanuelarhu.scenario;
+
+import com.emmanuelarhu.base.RequestPhases;
+import com.emmanuelarhu.load.LoadProfile;
+import com.emmanuelarhu.reporting.TestLog;
+import org.slf4j.Logger;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * A user journey as a sequence of named steps, e.g. log in, list products, open one, create a cart and update it.
+ * Each step is a REST Assured call through the shared specs that asserts on its response and stores what later
+ * steps need in the journey's {@link Session}; {@link Feed}s fill the session from the existing data providers
+ * before the first step, and pauses between steps stand for the user's think time.
+ *
+ * {@link #run()} runs one journey on the calling thread, so a test method that calls it is a functional test,
+ * and the same method driven by the {@link com.emmanuelarhu.load.LoadListener} is a journey per arrival. Every
+ * step's latency and the journey's end-to-end latency (the steps' time, without think time) are recorded per
+ * scenario and reported by the {@link ScenarioReportListener}. Think times are scaled by
+ * {@code scenario.think.scale}, by default 1 in load runs and 0 (no pauses) in functional runs.
+ */
+public final class Scenario {
+
+    private static final Logger log = TestLog.getLogger(Scenario.class);
+    private static final double THINK_SCALE = Double.parseDouble(System.getProperty("scenario.think.scale",
+            LoadProfile.configured().isPresent() ? "1" : "0"));
+
+    /** A step's request and checks */
+    @FunctionalInterface
+    public interface Action {
+        /**
+         * @param session Values from the feeds and earlier steps; store what later steps need
+         */
+        void run(Session session);
+    }
+
+    private final String name;
+    private final ScenarioMetrics.Journey metrics;
+    private final List<Feed> feeds = new ArrayList<>();
+    private final List<Step> steps = new ArrayList<>();
+
+    private Scenario(String name) {
+        this.name = name;
+        this.metrics = ScenarioMetrics.shared().journey(name);
+    }
+
+    /**
+     * @param name Scenario name, used in the log and the report
+     * @return empty scenario to add feeds, steps and pauses to
+     */
+    public static Scenario named(String name) {
+        return new Scenario(name);
+    }
+
+    /**
+     * Draw a row from {@code feed} at the start of every journey
+     * @param feed Rows to draw from
+     * @return this scenario
+     */
+    public Scenario feed(Feed feed) {
+        feeds.add(feed);
+        return this;
+    }
+
+    /**
+     * Add a step
+     * @param stepName Step name, unique within the scenario, e.g. {@code "POST /carts"}
+     * @param action Request and checks of the step
+     * @return this scenario
+     */
+    public Scenario step(String stepName, Action action) {
+        steps.add(new Step(stepName, action, metrics.step(stepName), 0L, 0L));
+        return this;
+    }
+
+    /**
+     * Add a think time of a fixed length
+     * @param millis Pause before the next step
+     * @return this scenario
+     */
+    public Scenario pause(long millis) {
+        return pause(millis, millis);
+    }
+
+    /**
+     * Add a think time drawn uniformly between two bounds
+     * @param minMillis Shortest pause
+     * @param maxMillis Longest pause
+     * @return this scenario
+     */
+    public Scenario pause(long minMillis, long maxMillis) {
+        if (minMillis < 0 || maxMillis < minMillis) {
+            throw new IllegalArgumentException("Invalid think time " + minMillis + ".." + maxMillis + " ms in " + name);
+        }
+        steps.add(new Step(null, null, null, minMillis, maxMillis));
+        return this;
+    }
+
+    /**
+     * @return scenario name
+     */
+    public String name() {
+        return name;
+    }
+
+    /**
+     * Run one journey: draw from the feeds, then run the steps and pauses in order. A failing step ends the
+     * journey, is counted against that step and is rethrown.
+     * @return the journey's session, with everything the steps stored
+     */
+    public Session run() {
+        long start = System.nanoTime();
+        // Under open-model load the invocation was scheduled; the journey is late by as much as its first request
+        long scheduled = RequestPhases.scheduled(Long.MIN_VALUE);
+        long queueNanos = scheduled == Long.MIN_VALUE ? -1L : Math.max(0L, start - scheduled);
+
+        // Warm-up journeys are neither recorded nor paced
+        boolean measured = ScenarioMetrics.shared().measured();
+        Session session = new Session(name);
+        feeds.forEach(feed -> feed.feed(session));
+        long activeNanos = 0;
+        for (Step step : steps) {
+            if (step.action == null) {
+                if (measured) {
+                    think(step);
+                }
+                continue;
+            }
+            log.debug("📋 {}: {}", name, step.name);
+            long stepStart = System.nanoTime();
+            try {
+                step.action.run(session);
+            } catch (RuntimeException | AssertionError e) {
+                if (measured) {
+                    step.metrics.failed.increment();
+                    metrics.failed.increment();
+                }
+                log.warn("⚠️ {} failed at step '{}': {}", name, step.name, e.getMessage());
+                throw e;
+            }
+            long stepNanos = System.nanoTime() - stepStart;
+            if (measured) {
+                step.metrics.latency.record(TimeUnit.NANOSECONDS.toMicros(stepNanos));
+            }
+            activeNanos += stepNanos;
+        }
+        if (measured) {
+            metrics.record(activeNanos, queueNanos, System.nanoTime() - start);
+        }
+        return session;
+    }
+
+    private void think(Step pause) {
+        long millis = pause.minMillis == pause.maxMillis ? pause.minMillis
+                : ThreadLocalRandom.current().nextLong(pause.minMillis, pause.maxMillis + 1);
+        long scaled = Math.round(millis * THINK_SCALE);
+        if (scaled <= 0) {
+            return;
+        }
+        try {
+            TimeUnit.MILLISECONDS.sleep(scaled);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException(name + " interrupted while thinking", e);
+        }
+    }
+
+    @Override
+    public String toString() {
+        return name;
+    }
+
+    private static final class Step {
+        final String name;
+        final Action action;
+        final ScenarioMetrics.StepStats metrics;
+        final long minMillis;
+        final long maxMillis;
+
+        Step(String name, Action action, ScenarioMetrics.StepStats metrics, long minMillis, long maxMillis) {
+            this.name = name;
+            this.action = action;
+            this.metrics = metrics;
+            this.minMillis = minMillis;
+            this.maxMillis = maxMillis;
+        }
+    }
+}
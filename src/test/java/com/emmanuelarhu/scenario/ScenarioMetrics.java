@@ -0,0 +1,154 @@
+package com.emmanuelarhu.scenario;
+
+import com.emmanuelarhu.base.RunReport;
+import com.emmanuelarhu.latency.LatencyHistogram;
+import com.emmanuelarhu.latency.LatencyReport;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Journeys and step latencies of every {@link Scenario}, kept for the whole run. Per scenario: journeys completed
+ * and failed, end-to-end latency (the steps' time), the same corrected for coordinated omission when the journeys
+ * were scheduled by an open-model load run, and the elapsed time including think time; per step: latency and
+ * failures. Steps are listed in the order the scenario runs them. Journeys run while a load run warms up are
+ * left out, like the rest of the warm-up.
+ */
+public final class ScenarioMetrics {
+
+    private static final ScenarioMetrics SHARED = new ScenarioMetrics();
+
+    private final Map<String, Journey> journeys = new LinkedHashMap<>();
+    private volatile boolean warmingUp;
+
+    private ScenarioMetrics() {
+        RunReport.register("Scenarios", this::metrics);
+    }
+
+    static ScenarioMetrics shared() {
+        return SHARED;
+    }
+
+    /**
+     * Leave the journeys that follow out of the metrics, and run them without think time, until called with false
+     * @param warmingUp True while a load run warms up
+     */
+    public static void warmingUp(boolean warmingUp) {
+        SHARED.warmingUp = warmingUp;
+    }
+
+    /**
+     * @return false while a load run warms up
+     */
+    boolean measured() {
+        return !warmingUp;
+    }
+
+    /**
+     * @param scenario Scenario name
+     * @return the scenario's metrics; scenarios with the same name share them
+     */
+    synchronized Journey journey(String scenario) {
+        return journeys.computeIfAbsent(scenario, name -> new Journey());
+    }
+
+    /**
+     * @return true once any journey has completed or failed
+     */
+    synchronized boolean recorded() {
+        return journeys.values().stream().anyMatch(journey -> journey.passed.sum() + journey.failed.sum() > 0);
+    }
+
+    /**
+     * @return JSON-ready summary per scenario, in milliseconds
+     */
+    synchronized Map<String, Object> summary() {
+        Map<String, Object> scenarios = new LinkedHashMap<>();
+        journeys.forEach((name, journey) -> {
+            Map<String, Object> scenario = new LinkedHashMap<>();
+            scenario.put("journeys", journey.passed.sum());
+            scenario.put("failed", journey.failed.sum());
+            scenario.put("endToEnd", LatencyReport.percentiles(journey.endToEnd));
+            if (journey.corrected.count() > 0) {
+                scenario.put("endToEndCorrected", LatencyReport.percentiles(journey.corrected));
+            }
+            scenario.put("elapsedWithThinkTime", LatencyReport.percentiles(journey.elapsed));
+            Map<String, Object> steps = new LinkedHashMap<>();
+            journey.steps.forEach((stepName, step) -> {
+                Map<String, Object> values = new LinkedHashMap<>();
+                values.put("count", step.latency.count());
+                values.put("failed", step.failed.sum());
+                values.putAll(LatencyReport.percentiles(step.latency));
+                steps.put(stepName, values);
+            });
+            scenario.put("steps", steps);
+            scenarios.put(name, scenario);
+        });
+        Map<String, Object> summary = new LinkedHashMap<>();
+        summary.put("unit", "ms");
+        summary.put("scenarios", scenarios);
+        return summary;
+    }
+
+    private synchronized Map<String, Object> metrics() {
+        Map<String, Object> metrics = new LinkedHashMap<>();
+        journeys.forEach((name, journey) -> {
+            if (journey.passed.sum() + journey.failed.sum() == 0) {
+                return;
+            }
+            LatencyHistogram endToEnd = journey.corrected.count() > 0 ? journey.corrected : journey.endToEnd;
+            metrics.put(name, String.format("journeys=%d failed=%d end-to-end%s %s", journey.passed.sum(),
+                    journey.failed.sum(), endToEnd == journey.corrected ? " (corrected)" : "", line(endToEnd)));
+            journey.steps.forEach((stepName, step) -> metrics.put(name + " / " + stepName,
+                    String.format("count=%d failed=%d %s", step.latency.count(), step.failed.sum(), line(step.latency))));
+        });
+        return metrics;
+    }
+
+    private static String line(LatencyHistogram histogram) {
+        Map<String, Object> percentiles = LatencyReport.percentiles(histogram);
+        return String.format("p50=%s p95=%s p99=%s max=%s", percentiles.get("p50"), percentiles.get("p95"),
+                percentiles.get("p99"), percentiles.get("max"));
+    }
+
+    /** Metrics of one scenario */
+    static final class Journey {
+        final LongAdder passed = new LongAdder();
+        final LongAdder failed = new LongAdder();
+        final LatencyHistogram endToEnd = new LatencyHistogram();
+        final LatencyHistogram corrected = new LatencyHistogram();
+        final LatencyHistogram elapsed = new LatencyHistogram();
+        private final Map<String, StepStats> steps = new LinkedHashMap<>();
+
+        synchronized StepStats step(String name) {
+            if (steps.containsKey(name)) {
+                throw new IllegalArgumentException("Duplicate step name '" + name + "'");
+            }
+            StepStats step = new StepStats();
+            steps.put(name, step);
+            return step;
+        }
+
+        /**
+         * @param activeNanos Time spent in the steps
+         * @param queueNanos How late the journey started on its schedule, or -1 if it had none
+         * @param elapsedNanos Wall-clock time of the journey, think time included
+         */
+        void record(long activeNanos, long queueNanos, long elapsedNanos) {
+            passed.increment();
+            endToEnd.record(TimeUnit.NANOSECONDS.toMicros(activeNanos));
+            if (queueNanos >= 0) {
+                corrected.record(TimeUnit.NANOSECONDS.toMicros(activeNanos + queueNanos));
+            }
+            elapsed.record(TimeUnit.NANOSECONDS.toMicros(elapsedNanos));
+        }
+    }
+
+    /** Metrics of one step */
+    static final class StepStats {
+        final LatencyHistogram latency = new LatencyHistogram();
+        final LongAdder failed = new LongAdder();
+    }
+}
@@ -0,0 +1,54 @@
+package com.emmanuelarhu.scenario;
+
+import com.emmanuelarhu.latency.LatencyReport;
+import com.emmanuelarhu.reporting.TestLog;
+import io.qameta.allure.model.Status;
+import org.slf4j.Logger;
+import org.testng.ISuite;
+import org.testng.ISuiteListener;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Map;
+
+/**
+ * Suite listener that writes the {@link Scenario} journeys and step latencies to {@code scenario.report.file}
+ * once the suite has finished, and attaches them to the Allure report on a "Scenario latency" entry in the
+ * "Run metrics" suite, broken if any journey failed. Runs without journeys write nothing.
+ */
+public class ScenarioReportListener implements ISuiteListener {
+
+    private static final Logger log = TestLog.getRunLogger(ScenarioReportListener.class);
+    private static final String DEFAULT_FILE = "target/scenarios/scenario-latency.json";
+
+    @Override
+    public void onFinish(ISuite suite) {
+        ScenarioMetrics metrics = ScenarioMetrics.shared();
+        if (!metrics.recorded()) {
+            return;
+        }
+        Map<String, Object> summary = metrics.summary();
+        long failed = failed(summary);
+        byte[] json = LatencyReport.toJson(summary);
+        Path file = Paths.get(System.getProperty("scenario.report.file", DEFAULT_FILE));
+        try {
+            Files.createDirectories(file.toAbsolutePath().getParent());
+            Files.write(file, json);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not write scenario report " + file, e);
+        }
+        LatencyReport.attach("Scenario latency", "scenario-latency", failed == 0 ? Status.PASSED : Status.BROKEN,
+                failed == 0 ? null : failed + " journey(s) failed", json);
+        log.info("🧭 Scenario latency written to {}", file);
+    }
+
+    @SuppressWarnings("unchecked")
+    private static long failed(Map<String, Object> summary) {
+        return ((Map<String, Map<String, Object>>) summary.get("scenarios")).values().stream()
+                .mapToLong(scenario -> ((Number) scenario.get("failed")).longValue())
+                .sum();
+    }
+}
@@ -0,0 +1,78 @@
+package com.emmanuelarhu.scenario;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Values carried from step to step of one journey: the rows drawn from the scenario's feeds, and whatever the
+ * steps extract from their responses (a token, a product id, the id of the cart just created).
+ * A session belongs to a single journey on a single thread.
+ */
+public final class Session {
+
+    private final String scenario;
+    private final Map<String, Object> values = new LinkedHashMap<>();
+
+    Session(String scenario) {
+        this.scenario = scenario;
+    }
+
+    /**
+     * @return name of the scenario this journey follows
+     */
+    public String scenario() {
+        return scenario;
+    }
+
+    /**
+     * Store a value for the following steps, replacing any value under the same key
+     * @param key Value name
+     * @param value Value, or null to remove it
+     * @return this session
+     */
+    public Session put(String key, Object value) {
+        if (value == null) {
+            values.remove(key);
+        } else {
+            values.put(key, value);
+        }
+        return this;
+    }
+
+    /**
+     * @param key Value name
+     * @return true if a value is stored under {@code key}
+     */
+    public boolean has(String key) {
+        return values.containsKey(key);
+    }
+
+    /**
+     * @param key Value name
+     * @param <T> Type the value was stored as
+     * @return the value
+     * @throws IllegalStateException if no earlier step or feed stored it
+     */
+    @SuppressWarnings("unchecked")
+    public <T> T get(String key) {
+        Object value = values.get(key);
+        if (value == null) {
+            throw new IllegalStateException("No '" + key + "' in the " + scenario + " session; stored: " + values.keySet());
+        }
+        return (T) value;
+    }
+
+    /**
+     * @param key Value name
+     * @return the value as an int, whether it was stored as a number or as text
+     */
+    public int getInt(String key) {
+        Object value = get(key);
+        return value instanceof Number ? ((Number) value).intValue() : Integer.parseInt(value.toString());
+    }
+
+    @Override
+    public String toString() {
+        return scenario + values.keySet();
+    }
+}
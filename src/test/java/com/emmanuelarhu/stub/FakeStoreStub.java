@@ -0,0 +1,95 @@
+package com.emmanuelarhu.stub;
+
+import com.emmanuelarhu.base.RunReport;
+import com.emmanuelarhu.models.Cart;
+import com.emmanuelarhu.models.Product;
+import com.emmanuelarhu.models.User;
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * In-process FakeStore API for offline, deterministic runs. Serves {@code /products}, {@code /users},
+ * {@code /carts} and {@code /auth/login} with the same JSON shapes as the model classes, on an ephemeral
+ * loopback port. Enabled with {@code -Dapi.target=stub}; see {@code SuiteContext}.
+ *
+ * Built on the JDK's HttpServer with keep-alive, TCP_NODELAY and pre-serialised GET responses. It shares the
+ * machine with the client, so high-rate load runs against the stub measure both. Worker thread count is read
+ * from {@code stub.threads}.
+ */
+public final class FakeStoreStub {
+
+    private static FakeStoreStub shared;
+
+    private final HttpServer server;
+    private final ExecutorService workers;
+    private final StubMetrics metrics = new StubMetrics();
+
+    private FakeStoreStub(int threads) {
+        // Read once by the JDK server on first use; without it small responses sit behind delayed ACKs
+        if (System.getProperty("sun.net.httpserver.nodelay") == null) {
+            System.setProperty("sun.net.httpserver.nodelay", "true");
+        }
+        try {
+            this.server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), 1024);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not start FakeStore stub", e);
+        }
+
+        StubData data = new StubData();
+        server.createContext("/products", new ResourceHandler<>(metrics, "/products", "product", Product.class,
+                data.products, data::validateProduct, Product::setId));
+        server.createContext("/users", new ResourceHandler<>(metrics, "/users", "user", User.class,
+                data.users, data::validateUser, User::setId));
+        server.createContext("/carts", new ResourceHandler<>(metrics, "/carts", "cart", Cart.class,
+                data.carts, data::validateCart, Cart::setId));
+        server.createContext("/auth/login", new LoginHandler(metrics, data.users));
+
+        AtomicInteger threadNumber = new AtomicInteger();
+        this.workers = Executors.newFixedThreadPool(threads, runnable -> {
+            Thread thread = new Thread(runnable, "stub-server-" + threadNumber.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        server.setExecutor(workers);
+        server.start();
+
+        RunReport.register("FakeStore stub", metrics::snapshot);
+        System.out.println("🧪 FakeStore stub listening on " + baseUrl());
+    }
+
+    /**
+     * Start the stub on first use; later calls return the running instance
+     * @return the stub shared by the whole suite
+     */
+    public static synchronized FakeStoreStub shared() {
+        if (shared == null) {
+            shared = new FakeStoreStub(Integer.getInteger("stub.threads",
+                    Math.max(4, Runtime.getRuntime().availableProcessors() * 2)));
+            Runtime.getRuntime().addShutdownHook(new Thread(shared::stop, "stub-server-shutdown"));
+        }
+        return shared;
+    }
+
+    /**
+     * @return Base URL of the running stub, e.g. http://127.0.0.1:54321
+     */
+    public String baseUrl() {
+        InetSocketAddress address = server.getAddress();
+        return "http://" + address.getHostString() + ":" + address.getPort();
+    }
+
+    /**
+     * Stop accepting requests and release the port
+     */
+    public void stop() {
+        server.stop(0);
+        workers.shutdownNow();
+    }
+}
@@ -0,0 +1,132 @@
+package com.emmanuelarhu.stub;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpHandler;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.Arrays;
+import java.util.Map;
+
+/**
+ * Base for the stub's handlers: strict JSON parsing and JSON responses.
+ * Bodies are always fully drained and responses always carry a length,
+ * so every connection stays reusable for keep-alive.
+ */
+abstract class JsonHandler implements HttpHandler {
+
+    static final ObjectMapper MAPPER = new ObjectMapper();
+
+    private final StubMetrics metrics;
+
+    JsonHandler(StubMetrics metrics) {
+        this.metrics = metrics;
+    }
+
+    @Override
+    public final void handle(HttpExchange exchange) throws IOException {
+        try (exchange) {
+            byte[] body;
+            try (InputStream in = exchange.getRequestBody()) {
+                body = in.readAllBytes();
+            }
+            Reply reply;
+            try {
+                reply = handle(exchange.getRequestMethod(), exchange.getRequestURI().getPath(), body);
+            } catch (RuntimeException e) {
+                reply = error(500, "Stub failure: " + e.getMessage());
+            }
+            if (reply.etag != null) {
+                exchange.getResponseHeaders().set("ETag", reply.etag);
+                if (reply.etag.equals(exchange.getRequestHeaders().getFirst("If-None-Match"))) {
+                    reply = new Reply(304, new byte[0], reply.etag);
+                }
+            }
+            send(exchange, reply);
+        }
+    }
+
+    /**
+     * Handle one request
+     * @param method HTTP method
+     * @param path Decoded request path, including the context path
+     * @param body Raw request body, empty when none was sent
+     * @return Response to send
+     */
+    abstract Reply handle(String method, String path, byte[] body);
+
+    private void send(HttpExchange exchange, Reply reply) throws IOException {
+        if (reply.status != 304) {
+            exchange.getResponseHeaders().set("Content-Type", "application/json; charset=utf-8");
+        }
+        exchange.sendResponseHeaders(reply.status, reply.body.length == 0 ? -1 : reply.body.length);
+        if (reply.body.length > 0) {
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write(reply.body);
+            }
+        }
+        metrics.record(reply.status);
+    }
+
+    /**
+     * Parse a request body as JSON, rejecting anything a strict parser would
+     * @return Parsed tree, or null if the body is empty or malformed
+     */
+    static JsonNode parse(byte[] body) {
+        if (body.length == 0) {
+            return null;
+        }
+        try {
+            JsonNode node = MAPPER.readTree(body);
+            return node != null && node.isObject() ? node : null;
+        } catch (IOException e) {
+            return null;
+        }
+    }
+
+    static Reply ok(Object value) {
+        return json(200, value);
+    }
+
+    static Reply json(int status, Object value) {
+        try {
+            return new Reply(status, MAPPER.writeValueAsBytes(value));
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Could not serialise stub response", e);
+        }
+    }
+
+    static Reply error(int status, String message) {
+        return json(status, Map.of("status", "error", "message", message));
+    }
+
+    /** Status and serialised body of a stub response, with an optional entity tag */
+    static final class Reply {
+        final int status;
+        final byte[] body;
+        final String etag;
+
+        Reply(int status, byte[] body) {
+            this(status, body, null);
+        }
+
+        private Reply(int status, byte[] body, String etag) {
+            this.status = status;
+            this.body = body;
+            this.etag = etag;
+        }
+
+        /**
+         * Same reply carrying a strong ETag derived from the body, so a GET sent with a matching
+         * If-None-Match is answered 304 without a body
+         */
+        Reply withETag() {
+            return new Reply(status, body, "\"" + Integer.toHexString(Arrays.hashCode(body)) + "-"
+                    + Integer.toHexString(body.length) + "\"");
+        }
+    }
+}
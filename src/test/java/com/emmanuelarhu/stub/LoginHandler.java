@@ -0,0 +1,61 @@
+package com.emmanuelarhu.stub;
+
+import com.emmanuelarhu.models.User;
+import com.fasterxml.jackson.databind.JsonNode;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * {@code POST /auth/login} against the stub's seeded users.
+ * Returns {@code {"token": ...}} for a matching username and password, 400 when either
+ * field is missing and 401 otherwise.
+ */
+final class LoginHandler extends JsonHandler {
+
+    private final Map<String, User> usersByName;
+
+    LoginHandler(StubMetrics metrics, Map<Integer, User> users) {
+        super(metrics);
+        this.usersByName = users.values().stream()
+                .collect(Collectors.toUnmodifiableMap(User::getUsername, Function.identity()));
+    }
+
+    @Override
+    Reply handle(String method, String path, byte[] body) {
+        if (!"POST".equals(method)) {
+            return error(405, method + " is not supported on " + path);
+        }
+        JsonNode json = parse(body);
+        if (json == null) {
+            return error(400, "Request body must be a JSON object");
+        }
+        String username = text(json, "username");
+        String password = text(json, "password");
+        if (username == null || password == null) {
+            return error(400, "username and password are not provided in JSON format");
+        }
+
+        User user = usersByName.get(username);
+        if (user == null || !user.getPassword().equals(password)) {
+            return error(401, "username or password is incorrect");
+        }
+        return ok(Map.of("token", token(user)));
+    }
+
+    private static String text(JsonNode json, String field) {
+        JsonNode value = json.get(field);
+        return value != null && value.isTextual() && !value.asText().isEmpty() ? value.asText() : null;
+    }
+
+    // Opaque but stable per user, which is all the tests rely on
+    private static String token(User user) {
+        String payload = "{\"sub\":" + user.getId() + ",\"user\":\"" + user.getUsername() + "\"}";
+        Base64.Encoder encoder = Base64.getUrlEncoder().withoutPadding();
+        return encoder.encodeToString("{\"alg\":\"none\"}".getBytes(StandardCharsets.UTF_8)) + "."
+                + encoder.encodeToString(payload.getBytes(StandardCharsets.UTF_8)) + ".stub";
+    }
+}
@@ -0,0 +1,148 @@
+package com.emmanuelarhu.stub;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+
+import java.io.IOException;
+import java.util.Map;
+import java.util.function.BiConsumer;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * CRUD handler for one FakeStore collection such as {@code /products}.
+ * Like the live API, writes are validated and echoed back but never persisted (every create
+ * gets the next free id), so runs are deterministic and GET responses are serialised once up front,
+ * each with an ETag for conditional requests.
+ *
+ * @param <T> Model the collection holds
+ */
+final class ResourceHandler<T> extends JsonHandler {
+
+    private final String contextPath;
+    private final String name;
+    private final Class<T> type;
+    private final Function<T, String> validator;
+    private final BiConsumer<T, Integer> idSetter;
+    private final Map<Integer, T> items;
+    private final Map<Integer, Reply> itemReplies;
+    private final Reply listReply;
+    private final int createdId;
+
+    /**
+     * @param contextPath Path the handler is mounted on, e.g. /products
+     * @param name Singular resource name used in error messages
+     * @param type Model class request bodies are bound to
+     * @param items Seed data keyed by id, in listing order
+     * @param validator Returns an error message for an invalid model, or null if it is valid
+     * @param idSetter Assigns the id echoed back for writes
+     */
+    ResourceHandler(StubMetrics metrics, String contextPath, String name, Class<T> type, Map<Integer, T> items,
+                    Function<T, String> validator, BiConsumer<T, Integer> idSetter) {
+        super(metrics);
+        this.contextPath = contextPath;
+        this.name = name;
+        this.type = type;
+        this.validator = validator;
+        this.idSetter = idSetter;
+        this.items = items;
+        this.itemReplies = items.entrySet().stream()
+                .collect(Collectors.toUnmodifiableMap(Map.Entry::getKey, entry -> ok(entry.getValue()).withETag()));
+        this.listReply = ok(items.values()).withETag();
+        this.createdId = items.size() + 1;
+    }
+
+    @Override
+    Reply handle(String method, String path, byte[] body) {
+        String rest = path.substring(contextPath.length());
+        if (rest.isEmpty() || rest.equals("/")) {
+            switch (method) {
+                case "GET":
+                    return listReply;
+                case "POST":
+                    return write(null, body);
+                default:
+                    return error(405, method + " is not supported on " + contextPath);
+            }
+        }
+        if (rest.indexOf('/', 1) >= 0) {
+            return error(404, "No route for " + path);
+        }
+
+        Integer id = parseId(rest.substring(1));
+        if (id == null) {
+            return error(400, "Invalid " + name + " id: " + rest.substring(1));
+        }
+        Reply existing = itemReplies.get(id);
+        if (existing == null) {
+            return error(404, capitalise(name) + " " + id + " not found");
+        }
+        switch (method) {
+            case "GET":
+                return existing;
+            case "DELETE":
+                return new Reply(existing.status, existing.body);
+            case "PUT":
+                return write(id, body);
+            case "PATCH":
+                return patch(id, body);
+            default:
+                return error(405, method + " is not supported on " + contextPath + "/{id}");
+        }
+    }
+
+    private Reply write(Integer id, byte[] body) {
+        JsonNode json = parse(body);
+        if (json == null) {
+            return error(400, "Request body must be a JSON object");
+        }
+        T model;
+        try {
+            model = MAPPER.treeToValue(json, type);
+        } catch (IOException e) {
+            return error(400, "Request body is not a valid " + name + ": " + describe(e));
+        }
+        return validated(id, model);
+    }
+
+    private Reply patch(int id, byte[] body) {
+        JsonNode json = parse(body);
+        if (json == null) {
+            return error(400, "Request body must be a JSON object");
+        }
+        T model;
+        try {
+            // Merge onto a copy so the seed item is never touched
+            T copy = MAPPER.treeToValue(MAPPER.valueToTree(items.get(id)), type);
+            model = MAPPER.readerForUpdating(copy).readValue(json);
+        } catch (IOException e) {
+            return error(400, "Request body is not a valid " + name + ": " + describe(e));
+        }
+        return validated(id, model);
+    }
+
+    private Reply validated(Integer id, T model) {
+        String problem = validator.apply(model);
+        if (problem != null) {
+            return error(400, problem);
+        }
+        idSetter.accept(model, id != null ? id : createdId);
+        return ok(model);
+    }
+
+    private static Integer parseId(String segment) {
+        try {
+            return Integer.valueOf(segment);
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+
+    private static String describe(IOException e) {
+        return e instanceof JsonProcessingException ? ((JsonProcessingException) e).getOriginalMessage() : e.getMessage();
+    }
+
+    private static String capitalise(String value) {
+        return Character.toUpperCase(value.charAt(0)) + value.substring(1);
+    }
+}
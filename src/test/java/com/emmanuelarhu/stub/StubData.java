@@ -0,0 +1,172 @@
+package com.emmanuelarhu.stub;
+
+import com.emmanuelarhu.models.Cart;
+import com.emmanuelarhu.models.CartItem;
+import com.emmanuelarhu.models.Product;
+import com.emmanuelarhu.models.User;
+
+import java.net.URI;
+import java.time.LocalDate;
+import java.time.OffsetDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.regex.Pattern;
+
+/**
+ * Seed data and validation rules for the stub. Mirrors the size and shape of the live
+ * FakeStore catalogue: 20 products, 10 users (with their documented login credentials) and 7 carts.
+ */
+final class StubData {
+
+    static final Set<String> CATEGORIES = Set.of("electronics", "jewelery", "men's clothing", "women's clothing");
+
+    private static final int MAX_TITLE_LENGTH = 255;
+    private static final Pattern EMAIL = Pattern.compile("^[^@\\s]+@[^@\\s.]+(\\.[^@\\s.]+)+$");
+
+    private static final String[][] USERS = {
+            {"johnd", "john@gmail.com", "m38rmF$"},
+            {"mor_2314", "morrison@gmail.com", "83r5^_"},
+            {"kevinryan", "kevin@gmail.com", "kev02937@"},
+            {"donero", "don@gmail.com", "ewedon"},
+            {"derek", "derek@gmail.com", "jklg*_56"},
+            {"david_r", "david_r@gmail.com", "3478*#54"},
+            {"snyder", "miriam@gmail.com", "f238&@*$"},
+            {"hopkins", "william@gmail.com", "William56$hj"},
+            {"kate_h", "kate@gmail.com", "kfejk@*_"},
+            {"jimmie_k", "jimmie@gmail.com", "klein*#%*"}
+    };
+
+    final Map<Integer, Product> products;
+    final Map<Integer, User> users;
+    final Map<Integer, Cart> carts;
+
+    StubData() {
+        this.products = Collections.unmodifiableMap(seedProducts());
+        this.users = Collections.unmodifiableMap(seedUsers());
+        this.carts = Collections.unmodifiableMap(seedCarts());
+    }
+
+    private static Map<Integer, Product> seedProducts() {
+        List<String> categories = List.of("men's clothing", "jewelery", "electronics", "women's clothing");
+        Map<Integer, Product> products = new LinkedHashMap<>();
+        for (int id = 1; id <= 20; id++) {
+            String category = categories.get((id - 1) / 5);
+            double price = Math.round((9.95 + id * 17.35) * 100) / 100.0;
+            products.put(id, new Product(id, "Stub " + category + " item " + id, price,
+                    "Deterministic stub product " + id + " in " + category, category,
+                    "https://fakestoreapi.com/img/stub-" + id + ".jpg"));
+        }
+        return products;
+    }
+
+    private static Map<Integer, User> seedUsers() {
+        Map<Integer, User> users = new LinkedHashMap<>();
+        for (int i = 0; i < USERS.length; i++) {
+            users.put(i + 1, new User(i + 1, USERS[i][0], USERS[i][1], USERS[i][2]));
+        }
+        return users;
+    }
+
+    private static Map<Integer, Cart> seedCarts() {
+        Map<Integer, Cart> carts = new LinkedHashMap<>();
+        for (int id = 1; id <= 7; id++) {
+            List<CartItem> items = List.of(new CartItem(id, 1 + id % 3), new CartItem(id + 7, 2), new CartItem(id + 13, 1));
+            carts.put(id, new Cart(id, (id + 1) / 2, items, LocalDate.of(2020, 3, id).toString()));
+        }
+        return carts;
+    }
+
+    String validateProduct(Product product) {
+        if (isBlank(product.getTitle())) {
+            return "title is required";
+        }
+        if (product.getTitle().length() > MAX_TITLE_LENGTH) {
+            return "title must be at most " + MAX_TITLE_LENGTH + " characters";
+        }
+        if (product.getPrice() == null || !Double.isFinite(product.getPrice()) || product.getPrice() <= 0) {
+            return "price must be a positive number";
+        }
+        if (isBlank(product.getDescription())) {
+            return "description is required";
+        }
+        if (product.getCategory() == null || !CATEGORIES.contains(product.getCategory())) {
+            return "category must be one of " + CATEGORIES;
+        }
+        if (!isHttpUrl(product.getImage())) {
+            return "image must be an http(s) URL";
+        }
+        return null;
+    }
+
+    String validateUser(User user) {
+        if (isBlank(user.getUsername())) {
+            return "username is required";
+        }
+        if (user.getEmail() == null || !EMAIL.matcher(user.getEmail()).matches()) {
+            return "email must be a valid address";
+        }
+        if (isBlank(user.getPassword())) {
+            return "password is required";
+        }
+        return null;
+    }
+
+    String validateCart(Cart cart) {
+        if (cart.getUserId() == null || !users.containsKey(cart.getUserId())) {
+            return "userId must reference an existing user";
+        }
+        if (cart.getProducts() == null || cart.getProducts().isEmpty()) {
+            return "products must contain at least one item";
+        }
+        for (CartItem item : cart.getProducts()) {
+            if (item == null || item.getProductId() == null || !products.containsKey(item.getProductId())) {
+                return "productId must reference an existing product";
+            }
+            if (item.getQuantity() == null || item.getQuantity() < 1) {
+                return "quantity must be at least 1";
+            }
+        }
+        if (!isDate(cart.getDate())) {
+            return "date must be an ISO-8601 date";
+        }
+        return null;
+    }
+
+    private static boolean isBlank(String value) {
+        return value == null || value.isBlank();
+    }
+
+    private static boolean isHttpUrl(String value) {
+        if (isBlank(value)) {
+            return false;
+        }
+        try {
+            URI uri = URI.create(value);
+            return ("http".equals(uri.getScheme()) || "https".equals(uri.getScheme())) && !isBlank(uri.getHost());
+        } catch (IllegalArgumentException e) {
+            return false;
+        }
+    }
+
+    // The live API stores cart dates as full timestamps but accepts plain dates
+    private static boolean isDate(String value) {
+        if (value == null) {
+            return false;
+        }
+        try {
+            LocalDate.parse(value);
+            return true;
+        } catch (DateTimeParseException e) {
+            try {
+                OffsetDateTime.parse(value);
+                return true;
+            } catch (DateTimeParseException ignored) {
+                return false;
+            }
+        }
+    }
+}
@@ -0,0 +1,33 @@
+package com.emmanuelarhu.stub;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Request counters for the stub server. Recording is a single {@link LongAdder}
+ * increment so it never becomes the bottleneck under load.
+ */
+final class StubMetrics {
+
+    private final LongAdder requests = new LongAdder();
+    private final LongAdder clientErrors = new LongAdder();
+    private final LongAdder serverErrors = new LongAdder();
+
+    void record(int status) {
+        requests.increment();
+        if (status >= 500) {
+            serverErrors.increment();
+        } else if (status >= 400) {
+            clientErrors.increment();
+        }
+    }
+
+    Map<String, Object> snapshot() {
+        Map<String, Object> metrics = new LinkedHashMap<>();
+        metrics.put("requests", requests.sum());
+        metrics.put("responses4xx", clientErrors.sum());
+        metrics.put("responses5xx", serverErrors.sum());
+        return metrics;
+    }
+}
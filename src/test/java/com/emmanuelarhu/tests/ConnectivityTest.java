@@ -21,13 +21,13 @@ public class ConnectivityTest extends BaseTest {
     @Description("Validate that the test environment is properly configured")
     @Severity(SeverityLevel.BLOCKER)
     public void validateTestEnvironment() {
-        System.out.println("=== Environment Validation ===");
-        System.out.println("Java Version: " + System.getProperty("java.version"));
-        System.out.println("Java Vendor: " + System.getProperty("java.vendor"));
-        System.out.println("OS Name: " + System.getProperty("os.name"));
-        System.out.println("OS Version: " + System.getProperty("os.version"));
-        System.out.println("User Directory: " + System.getProperty("user.dir"));
-        System.out.println("Maven Test Source Directory: " + System.getProperty("maven.test.source.directory", "Not Set"));
+        log.info("=== Environment Validation ===");
+        log.info("Java Version: {}", System.getProperty("java.version"));
+        log.info("Java Vendor: {}", System.getProperty("java.vendor"));
+        log.info("OS Name: {}", System.getProperty("os.name"));
+        log.info("OS Version: {}", System.getProperty("os.version"));
+        log.info("User Directory: {}", System.getProperty("user.dir"));
+        log.info("Maven Test Source Directory: {}", System.getProperty("maven.test.source.directory", "Not Set"));
 
         // Basic assertions
         assertNotNull(System.getProperty("java.version"), "Java version should be available");
@@ -36,13 +36,13 @@ public class ConnectivityTest extends BaseTest {
                 "Java version should be 17 or 21");
     }
 
-    @Test(priority = -9, groups = {"smoke", "connectivity"})
+    @Test(priority = -9, groups = {"smoke", "connectivity", "latency"})
     @Story("API Connectivity")
     @Description("Validate that FakeStore API is accessible from the test environment")
     @Severity(SeverityLevel.BLOCKER)
     public void validateApiConnectivity() {
-        System.out.println("=== API Connectivity Test ===");
-        System.out.println("Testing connection to: " + BASE_URL);
+        log.info("=== API Connectivity Test ===");
+        log.info("Testing connection to: {}", BASE_URL);
 
         try {
             Response response = given()
@@ -51,25 +51,24 @@ public class ConnectivityTest extends BaseTest {
                     .then()
                     .extract().response();
 
-            System.out.println("Response Status Code: " + response.getStatusCode());
-            System.out.println("Response Time: " + response.getTime() + "ms");
-            System.out.println("Response Content-Type: " + response.getContentType());
+            log.info("Response Status Code: {}", response.getStatusCode());
+            log.info("Response Time: {}ms", response.getTime());
+            log.info("Response Content-Type: {}", response.getContentType());
 
             // Basic connectivity validation
             assertTrue(response.getStatusCode() >= 200 && response.getStatusCode() < 500,
                     "API should be reachable (got status: " + response.getStatusCode() + ")");
 
             if (response.getStatusCode() == 200) {
-                System.out.println("✅ API is fully accessible");
+                log.info("✅ API is fully accessible");
                 assertNotNull(response.getBody().asString(), "Response body should not be null");
                 assertTrue(response.getTime() < 30000, "Response time should be reasonable (< 30s)");
             } else {
-                System.out.println("⚠️ API returned status: " + response.getStatusCode());
+                log.warn("⚠️ API returned status: {}", response.getStatusCode());
             }
 
         } catch (Exception e) {
-            System.err.println("❌ API connectivity test failed: " + e.getMessage());
-            e.printStackTrace();
+            log.error("❌ API connectivity test failed: {}", e.getMessage(), e);
             fail("Failed to connect to FakeStore API: " + e.getMessage());
         }
     }
@@ -79,7 +78,7 @@ public class ConnectivityTest extends BaseTest {
     @Description("Validate that REST Assured and TestNG are working correctly")
     @Severity(SeverityLevel.CRITICAL)
     public void validateTestFramework() {
-        System.out.println("=== Test Framework Validation ===");
+        log.info("=== Test Framework Validation ===");
 
         try {
             // Test REST Assured basic functionality
@@ -90,26 +89,25 @@ public class ConnectivityTest extends BaseTest {
                     .then()
                     .extract().response();
 
-            System.out.println("REST Assured Status: ✅ Working");
-            System.out.println("Response received with status: " + response.getStatusCode());
+            log.info("REST Assured Status: ✅ Working");
+            log.info("Response received with status: {}", response.getStatusCode());
 
             // Test basic assertions
             assertNotNull(response, "Response object should not be null");
             assertNotNull(response.getBody(), "Response body should not be null");
 
-            System.out.println("TestNG Assertions: ✅ Working");
+            log.info("TestNG Assertions: ✅ Working");
 
             // Test JSON parsing
             if (response.getStatusCode() == 200) {
                 String responseBody = response.getBody().asString();
                 assertTrue(responseBody.length() > 0, "Response body should not be empty");
-                System.out.println("JSON Response Length: " + responseBody.length() + " characters");
-                System.out.println("JSON Parsing: ✅ Working");
+                log.info("JSON Response Length: {} characters", responseBody.length());
+                log.info("JSON Parsing: ✅ Working");
             }
 
         } catch (Exception e) {
-            System.err.println("❌ Test framework validation failed: " + e.getMessage());
-            e.printStackTrace();
+            log.error("❌ Test framework validation failed: {}", e.getMessage(), e);
             fail("Test framework validation failed: " + e.getMessage());
         }
     }
@@ -119,7 +117,7 @@ public class ConnectivityTest extends BaseTest {
     @Description("Validate that Allure reporting is working correctly")
     @Severity(SeverityLevel.NORMAL)
     public void validateAllureIntegration() {
-        System.out.println("=== Allure Integration Test ===");
+        log.info("=== Allure Integration Test ===");
 
         // Add some Allure-specific content
         Allure.step("Testing Allure step functionality");
@@ -128,7 +126,7 @@ public class ConnectivityTest extends BaseTest {
                         "OS: " + System.getProperty("os.name") + "\n" +
                         "Base URL: " + BASE_URL);
 
-        System.out.println("Allure Integration: ✅ Working");
+        log.info("Allure Integration: ✅ Working");
 
         // This test should always pass if it reaches this point
         assertTrue(true, "Allure integration test completed successfully");
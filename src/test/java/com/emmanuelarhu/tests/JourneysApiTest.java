@@ -0,0 +1,184 @@
+package com.emmanuelarhu.tests;
+
+import com.emmanuelarhu.base.BaseTest;
+import com.emmanuelarhu.base.RequestSpecs;
+import com.emmanuelarhu.base.SuiteContext;
+import com.emmanuelarhu.models.Cart;
+import com.emmanuelarhu.models.CartItem;
+import com.emmanuelarhu.models.LoginRequest;
+import com.emmanuelarhu.scenario.Feed;
+import com.emmanuelarhu.scenario.Mix;
+import com.emmanuelarhu.scenario.Scenario;
+import com.emmanuelarhu.scenario.Session;
+import com.emmanuelarhu.utils.AuthTestDataProvider;
+import com.emmanuelarhu.utils.CartTestDataProvider;
+import com.emmanuelarhu.utils.ProductTestDataProvider;
+import io.qameta.allure.*;
+import io.restassured.response.Response;
+import org.testng.annotations.Listeners;
+import org.testng.annotations.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+
+import static io.restassured.RestAssured.given;
+import static org.hamcrest.Matchers.*;
+
+/**
+ * Multi-step user journeys through the FakeStore API, built with the {@link Scenario} DSL from the existing
+ * models and data providers. Each test runs one journey; under load each arrival is a journey, with the
+ * scenarios' think times. {@link #testWeightedJourneyMix()} draws browsing and buying journeys in the
+ * proportion production sees them.
+ */
+@Epic("FakeStore API Testing")
+@Feature("User Journeys")
+@Listeners({io.qameta.allure.testng.AllureTestNg.class})
+public class JourneysApiTest extends BaseTest {
+
+    private static final Scenario BROWSE = Scenario.named("Browse products")
+            .feed(Feed.of(ProductTestDataProvider.class, "validProductIds", "productId").random())
+            .step("GET /products", JourneysApiTest::listProducts)
+            .pause(1000, 3000)
+            .step("GET /products/{id}", JourneysApiTest::viewProduct)
+            .pause(2000, 5000);
+
+    private static final Scenario BUY = Scenario.named("Log in and buy")
+            .feed(Feed.of(AuthTestDataProvider.class, "validLoginCredentials", "credentials"))
+            .feed(Feed.of(CartTestDataProvider.class, "validCartData", "cart").random())
+            .step("POST /auth/login", JourneysApiTest::login)
+            .pause(1000, 2000)
+            .step("GET /products", JourneysApiTest::listProducts)
+            .pause(1000, 3000)
+            .step("GET /products/{id}", JourneysApiTest::viewProduct)
+            .pause(2000, 5000)
+            .step("POST /carts", JourneysApiTest::createCart)
+            .pause(1000, 2000)
+            .step("PUT /carts/{id}", JourneysApiTest::updateCart);
+
+    private static final Mix PRODUCTION_MIX = Mix.named("Production mix")
+            .add(70, BROWSE)
+            .add(30, BUY);
+
+    @Test(priority = 1, groups = {"journey"})
+    @Story("Browse Products")
+    @Description("Verify that a visitor can list the products and open one")
+    @Severity(SeverityLevel.CRITICAL)
+    public void testBrowseJourney() {
+        runJourney(BROWSE);
+    }
+
+    @Test(priority = 2, groups = {"journey"})
+    @Story("Log In and Buy")
+    @Description("Verify that a user can log in, pick a product, create a cart with it and update the cart")
+    @Severity(SeverityLevel.BLOCKER)
+    public void testBuyJourney() {
+        runJourney(BUY);
+    }
+
+    @Test(priority = 3, groups = {"journey"})
+    @Story("Production Mix")
+    @Description("Verify a journey drawn from the weighted production mix of browsing and buying")
+    @Severity(SeverityLevel.NORMAL)
+    public void testWeightedJourneyMix() {
+        runJourney(PRODUCTION_MIX.pick());
+    }
+
+    private void runJourney(Scenario scenario) {
+        logTestStep("Running journey: " + scenario.name());
+
+        try {
+            Session session = scenario.run();
+            log.info("✅ Journey '{}' completed: {}", scenario.name(), session);
+        } catch (Exception e) {
+            handleApiException(e, "journey " + scenario.name());
+        }
+    }
+
+    private static RequestSpecs specs() {
+        return SuiteContext.get().specs();
+    }
+
+    private static void login(Session session) {
+        LoginRequest credentials = session.get("credentials");
+        String token = given()
+                .spec(specs().json())
+                .body(credentials)
+                .when()
+                .post(AUTH_ENDPOINT)
+                .then()
+                .log().ifValidationFails()
+                .statusCode(anyOf(equalTo(200), equalTo(201)))
+                .body("token", not(emptyOrNullString()))
+                .extract().path("token");
+        session.put("token", token);
+    }
+
+    // Browsing picks one of the listed products unless the feed already chose one
+    private static void listProducts(Session session) {
+        List<Integer> ids = given()
+                .spec(specs().get())
+                .when()
+                .get(PRODUCTS_ENDPOINT)
+                .then()
+                .log().ifValidationFails()
+                .statusCode(200)
+                .body("size()", greaterThan(0))
+                .extract().jsonPath().getList("id", Integer.class);
+        if (!session.has("productId")) {
+            session.put("productId", ids.get(ThreadLocalRandom.current().nextInt(ids.size())));
+        }
+    }
+
+    private static void viewProduct(Session session) {
+        int productId = session.getInt("productId");
+        given()
+                .spec(specs().get())
+                .pathParam("id", productId)
+                .when()
+                .get(PRODUCTS_ENDPOINT + "/{id}")
+                .then()
+                .log().ifValidationFails()
+                .statusCode(200)
+                .body("id", equalTo(productId));
+    }
+
+    // The fed cart is shared by every journey, so the new cart is a copy with the viewed product added
+    private static void createCart(Session session) {
+        Cart fed = session.get("cart");
+        List<CartItem> items = new ArrayList<>(fed.getProducts());
+        items.add(new CartItem(session.getInt("productId"), 1));
+        Cart cart = new Cart(null, fed.getUserId(), items, fed.getDate());
+        Response response = given()
+                .spec(specs().json())
+                .header("Authorization", "Bearer " + session.get("token"))
+                .body(cart)
+                .when()
+                .post(CARTS_ENDPOINT)
+                .then()
+                .log().ifValidationFails()
+                .statusCode(anyOf(equalTo(200), equalTo(201)))
+                .body("id", notNullValue())
+                .extract().response();
+        cart.setId(response.path("id"));
+        session.put("cartId", cart.getId()).put("createdCart", cart);
+    }
+
+    // FakeStore does not keep created carts: the live API echoes the update, the stub finds no such cart
+    private static void updateCart(Session session) {
+        Cart created = session.get("createdCart");
+        List<CartItem> items = new ArrayList<>(created.getProducts());
+        CartItem added = items.remove(items.size() - 1);
+        items.add(new CartItem(added.getProductId(), 2));
+        given()
+                .spec(specs().json())
+                .header("Authorization", "Bearer " + session.get("token"))
+                .pathParam("id", session.getInt("cartId"))
+                .body(new Cart(null, created.getUserId(), items, created.getDate()))
+                .when()
+                .put(CARTS_ENDPOINT + "/{id}")
+                .then()
+                .log().ifValidationFails()
+                .statusCode(anyOf(equalTo(200), equalTo(404)));
+    }
+}
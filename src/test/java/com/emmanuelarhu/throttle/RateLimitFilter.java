@@ -0,0 +1,291 @@
+package com.emmanuelarhu.throttle;
+
+import com.emmanuelarhu.base.FilterOrder;
+import com.emmanuelarhu.base.HttpMessages;
+import com.emmanuelarhu.base.RunReport;
+import com.emmanuelarhu.reporting.TestLog;
+import io.restassured.filter.FilterContext;
+import io.restassured.filter.OrderedFilter;
+import io.restassured.response.Response;
+import io.restassured.specification.FilterableRequestSpecification;
+import io.restassured.specification.FilterableResponseSpecification;
+import org.slf4j.Logger;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.stream.Collectors;
+
+/**
+ * Client-side token bucket in front of the transport, so the suite sends no faster than the API accepts instead
+ * of tolerating its throttling. Every request takes a token from the bucket of its endpoint template when
+ * {@code http.rate.limit.endpoints} gives it one (e.g. {@code POST /carts=2,GET /products=20}), otherwise from
+ * the shared bucket of {@code http.rate.limit} requests per second; without either, the request is not limited.
+ * A request with no token available waits for one, in arrival order, so load runs see the wait as queueing,
+ * not service time. Up to {@code http.rate.limit.burst} tokens are saved up while a bucket is idle.
+ *
+ * Buckets adapt: when {@code http.rate.limit.throttle.threshold} throttled responses ({@code 403} or {@code 429}
+ * by default) arrive within {@code http.rate.limit.window.seconds}, or a single one with a {@code Retry-After}
+ * header, the bucket's rate is multiplied by {@code http.rate.limit.decrease.factor}, down to
+ * {@code http.rate.limit.min}; the {@code Retry-After} also holds the bucket for that long. After a window
+ * without throttling the rate climbs back by {@code http.rate.limit.recover.percent} of its configured rate per
+ * second, so it settles just below the rate that triggers throttling. Rate changes are logged. Off unless
+ * {@code http.rate.limit} or {@code http.rate.limit.endpoints} is set.
+ */
+public final class RateLimitFilter implements OrderedFilter {
+
+    private static final Logger log = TestLog.getRunLogger(RateLimitFilter.class);
+    private static final long MAX_SLEEP_NANOS = TimeUnit.MILLISECONDS.toNanos(100);
+
+    private static final RateLimitFilter CONFIGURED = System.getProperty("http.rate.limit") == null
+            && System.getProperty("http.rate.limit.endpoints") == null ? null : new RateLimitFilter();
+
+    private final int burst = Integer.getInteger("http.rate.limit.burst", 1);
+    private final Set<Integer> throttleStatuses = Arrays.stream(
+                    System.getProperty("http.rate.limit.statuses", "403,429").split(","))
+            .map(String::trim)
+            .filter(status -> !status.isEmpty())
+            .map(Integer::valueOf)
+            .collect(Collectors.toUnmodifiableSet());
+    private final int throttleThreshold = Integer.getInteger("http.rate.limit.throttle.threshold", 3);
+    private final long windowNanos = TimeUnit.SECONDS.toNanos(Long.getLong("http.rate.limit.window.seconds", 5L));
+    private final double decreaseFactor = Double.parseDouble(System.getProperty("http.rate.limit.decrease.factor", "0.5"));
+    private final double minRate = Double.parseDouble(System.getProperty("http.rate.limit.min", "0.5"));
+    private final double recoverFraction = Double.parseDouble(System.getProperty("http.rate.limit.recover.percent", "5")) / 100;
+
+    private final Bucket shared;
+    private final Map<String, Bucket> endpoints = new LinkedHashMap<>();
+
+    private RateLimitFilter() {
+        String rate = System.getProperty("http.rate.limit");
+        this.shared = rate == null ? null : new Bucket("all endpoints", rate(rate, "http.rate.limit"));
+        for (String entry : System.getProperty("http.rate.limit.endpoints", "").split(",")) {
+            if (entry.isBlank()) {
+                continue;
+            }
+            int equals = entry.lastIndexOf('=');
+            String key = entry.substring(0, Math.max(0, equals)).trim();
+            int space = key.indexOf(' ');
+            if (space < 0) {
+                throw new IllegalArgumentException("http.rate.limit.endpoints entries are METHOD /path=rate, got: " + entry);
+            }
+            String endpoint = HttpMessages.endpoint(key.substring(0, space).toUpperCase(), key.substring(space + 1).trim());
+            endpoints.put(endpoint, new Bucket(endpoint, rate(entry.substring(equals + 1), "http.rate.limit.endpoints")));
+        }
+        if (burst < 1 || decreaseFactor <= 0 || decreaseFactor >= 1 || minRate <= 0 || throttleThreshold < 1) {
+            throw new IllegalArgumentException("Invalid http.rate.limit settings: burst=" + burst + " decrease.factor="
+                    + decreaseFactor + " min=" + minRate + " throttle.threshold=" + throttleThreshold);
+        }
+        RunReport.register("Rate limiter", this::metrics);
+    }
+
+    /**
+     * @return the limiter if {@code http.rate.limit} or {@code http.rate.limit.endpoints} is set
+     */
+    public static Optional<RateLimitFilter> configured() {
+        return Optional.ofNullable(CONFIGURED);
+    }
+
+    @Override
+    public Response filter(FilterableRequestSpecification requestSpec, FilterableResponseSpecification responseSpec,
+                           FilterContext ctx) {
+        Bucket bucket = endpoints.isEmpty() ? shared
+                : endpoints.getOrDefault(HttpMessages.endpoint(requestSpec.getMethod(), requestSpec.getUserDefinedPath()), shared);
+        if (bucket == null) {
+            return ctx.next(requestSpec, responseSpec);
+        }
+        long sent = bucket.acquire();
+        Response response = ctx.next(requestSpec, responseSpec);
+        if (throttleStatuses.contains(response.getStatusCode())) {
+            bucket.throttled(sent, response.getStatusCode(), retryAfterNanos(response.getHeader("Retry-After")));
+        }
+        return response;
+    }
+
+    @Override
+    public int getOrder() {
+        return FilterOrder.RATE_LIMIT;
+    }
+
+    private static double rate(String value, String property) {
+        double rate = Double.parseDouble(value.trim());
+        if (!(rate > 0)) {
+            throw new IllegalArgumentException(property + " rates must be positive: " + value);
+        }
+        return rate;
+    }
+
+    // Only the delay-seconds form; an HTTP date falls back to the multiplicative decrease alone
+    private static long retryAfterNanos(String retryAfter) {
+        if (retryAfter == null) {
+            return 0L;
+        }
+        try {
+            return TimeUnit.SECONDS.toNanos(Math.max(0L, Long.parseLong(retryAfter.trim())));
+        } catch (NumberFormatException e) {
+            return 0L;
+        }
+    }
+
+    private Map<String, Object> metrics() {
+        Map<String, Object> metrics = new LinkedHashMap<>();
+        metrics.put("burst", burst);
+        metrics.put("throttleStatuses", throttleStatuses.stream().sorted().map(String::valueOf).collect(Collectors.joining(",")));
+        if (shared != null) {
+            metrics.put(shared.name, shared.describe());
+        }
+        endpoints.values().forEach(bucket -> metrics.put(bucket.name, bucket.describe()));
+        return metrics;
+    }
+
+    /**
+     * One token bucket. Waiting requests queue in arrival order; only the head of the queue watches the bucket,
+     * in short sleeps, so a rate lowered or raised while requests wait applies to the very next token.
+     */
+    private final class Bucket {
+        final String name;
+        final double configuredRate;
+        private final ReentrantLock queue = new ReentrantLock(true);
+        private double rate;
+        private double lowestRate;
+        private double throttledAtRate;
+        private double tokens = burst;
+        private long refilledNanos = System.nanoTime();
+        private long holdUntilNanos = refilledNanos;
+        private long windowStartNanos = refilledNanos - windowNanos - 1;
+        private int throttledInWindow;
+        private long lastThrottleNanos = Long.MIN_VALUE;
+        private long lastDecreaseNanos = refilledNanos;
+        private long lastAdjustNanos;
+        private final LongAdder requests = new LongAdder();
+        private final LongAdder waited = new LongAdder();
+        private final LongAdder waitedNanos = new LongAdder();
+        private final LongAdder throttled = new LongAdder();
+        private final LongAdder decreases = new LongAdder();
+        private final LongAdder retryAfterPauses = new LongAdder();
+
+        Bucket(String name, double rate) {
+            this.name = name;
+            this.configuredRate = rate;
+            this.rate = rate;
+            this.lowestRate = rate;
+        }
+
+        /**
+         * Wait for a token
+         * @return {@link System#nanoTime()} the request was let through
+         */
+        long acquire() {
+            requests.increment();
+            long start = System.nanoTime();
+            long now = start;
+            queue.lock();
+            try {
+                for (long waitNanos = take(now); waitNanos > 0; waitNanos = take(now)) {
+                    TimeUnit.NANOSECONDS.sleep(Math.min(waitNanos, MAX_SLEEP_NANOS));
+                    now = System.nanoTime();
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException("Interrupted waiting for the " + name + " rate limit", e);
+            } finally {
+                queue.unlock();
+            }
+            if (now != start) {
+                waited.increment();
+                waitedNanos.add(now - start);
+            }
+            return now;
+        }
+
+        // Take a token if one is available; otherwise how long until the next one
+        private synchronized long take(long now) {
+            if (now - holdUntilNanos < 0) {
+                return holdUntilNanos - now;
+            }
+            recover(now);
+            tokens = Math.min(burst, tokens + (now - Math.max(refilledNanos, holdUntilNanos)) * rate / TimeUnit.SECONDS.toNanos(1));
+            refilledNanos = now;
+            if (tokens >= 1) {
+                tokens--;
+                return 0L;
+            }
+            return Math.max(1L, (long) ((1 - tokens) * TimeUnit.SECONDS.toNanos(1) / rate));
+        }
+
+        private void recover(long now) {
+            if (rate >= configuredRate || lastThrottleNanos == Long.MIN_VALUE || now - lastThrottleNanos < windowNanos) {
+                return;
+            }
+            double seconds = (now - Math.max(lastAdjustNanos, lastThrottleNanos + windowNanos)) / (double) TimeUnit.SECONDS.toNanos(1);
+            rate = Math.min(configuredRate, rate + configuredRate * recoverFraction * seconds);
+            lastAdjustNanos = now;
+            if (rate >= configuredRate) {
+                log.info("🐇 Rate limit for {} back to {}/s", name, round(rate));
+            }
+        }
+
+        /**
+         * Count a throttled response, and slow down if they cluster
+         * @param sentNanos When the request was let through; requests sent before the last decrease do not count
+         *                  towards the next one, since they went out at the old rate
+         * @param status Throttling status
+         * @param retryAfterNanos Pause the response asked for, or 0
+         */
+        synchronized void throttled(long sentNanos, int status, long retryAfterNanos) {
+            long now = System.nanoTime();
+            throttled.increment();
+            if (retryAfterNanos > 0) {
+                retryAfterPauses.increment();
+                holdUntilNanos = Math.max(holdUntilNanos, now + retryAfterNanos);
+                tokens = 0;
+            }
+            if (sentNanos - lastDecreaseNanos < 0) {
+                return;
+            }
+            recover(now);
+            lastThrottleNanos = now;
+            if (now - windowStartNanos > windowNanos) {
+                windowStartNanos = now;
+                throttledInWindow = 0;
+            }
+            throttledInWindow++;
+            // A Retry-After says outright that we are too fast, and its pause keeps the next responses from clustering
+            if ((throttledInWindow < throttleThreshold && retryAfterNanos == 0) || rate <= minRate) {
+                return;
+            }
+            int clustered = throttledInWindow;
+            throttledAtRate = rate;
+            rate = Math.max(minRate, rate * decreaseFactor);
+            lowestRate = Math.min(lowestRate, rate);
+            tokens = Math.min(tokens, 0);
+            lastDecreaseNanos = now;
+            lastAdjustNanos = now;
+            throttledInWindow = 0;
+            decreases.increment();
+            log.warn("🐢 Rate limit for {} lowered from {}/s to {}/s after {} throttled response(s) (last HTTP {})",
+                    name, round(throttledAtRate), round(rate), clustered, status);
+        }
+
+        synchronized String describe() {
+            long requestCount = requests.sum();
+            return String.format("rate=%s/s configured=%s/s lowest=%s/s throttledAt=%s/s requests=%d waited=%d"
+                            + " meanWaitMs=%s throttled=%d decreases=%d retryAfterPauses=%d", round(rate),
+                    round(configuredRate), round(lowestRate), throttledAtRate == 0 ? "-" : round(throttledAtRate),
+                    requestCount, waited.sum(),
+                    round(requestCount == 0 ? 0 : waitedNanos.sum() / (double) requestCount / TimeUnit.MILLISECONDS.toNanos(1)),
+                    throttled.sum(), decreases.sum(), retryAfterPauses.sum());
+        }
+    }
+
+    private static BigDecimal round(double value) {
+        return BigDecimal.valueOf(value).setScale(2, RoundingMode.HALF_UP);
+    }
+}